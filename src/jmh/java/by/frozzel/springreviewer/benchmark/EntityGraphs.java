@@ -0,0 +1,64 @@
+package by.frozzel.springreviewer.benchmark;
+
+import by.frozzel.springreviewer.model.Review;
+import by.frozzel.springreviewer.model.Subject;
+import by.frozzel.springreviewer.model.Teacher;
+import by.frozzel.springreviewer.model.User;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Заранее построенные графы сущностей, как после загрузки из БД со всеми связями
+final class EntityGraphs {
+
+    private static final int SUBJECTS_PER_TEACHER = 5;
+    private static final int TEACHERS = 20;
+    private static final int USERS = 50;
+
+    private EntityGraphs() {
+    }
+
+    static List<Review> reviews(int count) {
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < TEACHERS * SUBJECTS_PER_TEACHER; i++) {
+            Subject subject = new Subject();
+            subject.setId(i + 1);
+            subject.setName("Subject " + (i + 1));
+            subjects.add(subject);
+        }
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < TEACHERS; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setId(i + 1);
+            teacher.setSurname("Surname" + i);
+            teacher.setName("Name" + i);
+            teacher.setPatronym("Patronym" + i);
+            teacher.setSubjects(new ArrayList<>(subjects.subList(i * SUBJECTS_PER_TEACHER,
+                    (i + 1) * SUBJECTS_PER_TEACHER)));
+            teachers.add(teacher);
+        }
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setId(i + 1);
+            user.setUsername("user" + i);
+            users.add(user);
+        }
+
+        List<Review> reviews = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = teachers.get(i % TEACHERS);
+            Review review = new Review();
+            review.setId(i + 1);
+            review.setUser(users.get(i % USERS));
+            review.setTeacher(teacher);
+            review.setSubject(teacher.getSubjects().get(i % SUBJECTS_PER_TEACHER));
+            review.setDate(date.plusDays(i % 365));
+            review.setGrade(i % 10 + 1);
+            review.setComment("Comment number " + i + " about the lectures and the exam");
+            reviews.add(review);
+        }
+        return reviews;
+    }
+}
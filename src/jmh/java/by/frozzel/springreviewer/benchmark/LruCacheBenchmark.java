@@ -0,0 +1,73 @@
+package by.frozzel.springreviewer.benchmark;
+
+import by.frozzel.springreviewer.config.LruCache;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Смешанная нагрузка get/put: ключей на четверть больше ёмкости, поэтому около 80% обращений - попадания
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LruCacheBenchmark {
+
+    private static final int CACHE_SIZE = 1000;
+    private static final int KEY_SPACE = CACHE_SIZE * 5 / 4;
+    private static final String VALUE = "cached-value";
+
+    private LruCache<Integer, String> cache;
+
+    @Setup
+    public void setUp() {
+        cache = new LruCache<>(CACHE_SIZE);
+        for (int key = 0; key < CACHE_SIZE; key++) {
+            cache.put(key, VALUE);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String getOrPut1Thread() {
+        return getOrPut();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String getOrPut4Threads() {
+        return getOrPut();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String getOrPut16Threads() {
+        return getOrPut();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String getOrPut32Threads() {
+        return getOrPut();
+    }
+
+    private String getOrPut() {
+        int key = ThreadLocalRandom.current().nextInt(KEY_SPACE);
+        String value = cache.get(key);
+        if (value == null) {
+            cache.put(key, VALUE);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package by.frozzel.springreviewer.benchmark;
+
+import by.frozzel.springreviewer.mapper.ReviewMapper;
+import by.frozzel.springreviewer.mapper.TeacherMapper;
+import by.frozzel.springreviewer.model.Review;
+import by.frozzel.springreviewer.model.Teacher;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Только преобразование в DTO: связи уже загружены, время БД и ленивой загрузки не входит
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private TeacherMapper teacherMapper;
+    private ReviewMapper reviewMapper;
+    private List<Review> reviews;
+    private List<Teacher> teachers;
+
+    @Setup
+    public void setUp() {
+        teacherMapper = new TeacherMapper();
+        // Репозитории используются только в toEntity
+        reviewMapper = new ReviewMapper(null, null, null, teacherMapper);
+        reviews = EntityGraphs.reviews(size);
+        teachers = reviews.stream().map(Review::getTeacher).toList();
+    }
+
+    @Benchmark
+    public void reviewToDto(Blackhole blackhole) {
+        for (Review review : reviews) {
+            blackhole.consume(reviewMapper.toDto(review));
+        }
+    }
+
+    @Benchmark
+    public void teacherToDto(Blackhole blackhole) {
+        for (Teacher teacher : teachers) {
+            blackhole.consume(teacherMapper.toDto(teacher));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package by.frozzel.springreviewer.benchmark;
+
+import by.frozzel.springreviewer.dto.ReviewDisplayDto;
+import by.frozzel.springreviewer.mapper.ReviewMapper;
+import by.frozzel.springreviewer.mapper.TeacherMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Сериализация списка ReviewDisplayDto с теми же настройками ObjectMapper, что и в Spring Boot по умолчанию
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ReviewDisplayDto> reviews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ReviewMapper reviewMapper = new ReviewMapper(null, null, null, new TeacherMapper());
+        reviews = EntityGraphs.reviews(size).stream().map(reviewMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeReviews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reviews);
+    }
+}
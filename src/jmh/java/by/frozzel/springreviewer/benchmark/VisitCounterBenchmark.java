@@ -0,0 +1,66 @@
+package by.frozzel.springreviewer.benchmark;
+
+import by.frozzel.springreviewer.service.VisitCounterService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Запись одного запроса в VisitCounterService: все потоки на одном маршруте (худший случай
+// конкуренции за счётчики и гистограмму) и потоки, распределённые по нескольким маршрутам
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisitCounterBenchmark {
+
+    private static final String[] PATTERNS = {
+        "/reviews", "/reviews/{id}", "/teachers", "/teachers/{id}",
+        "/users", "/users/{id}", "/subjects", "/subjects/{id}"
+    };
+    private static final long ELAPSED_NANOS = 3_500_000;
+
+    private VisitCounterService visitCounterService;
+
+    @Setup
+    public void setUp() {
+        // Репозиторий нужен только для загрузки и сброса счётчиков в БД
+        visitCounterService = new VisitCounterService(null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sameRoute1Thread() {
+        visitCounterService.recordRequest("GET", "/reviews", 200, ELAPSED_NANOS);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void sameRoute8Threads() {
+        visitCounterService.recordRequest("GET", "/reviews", 200, ELAPSED_NANOS);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void sameRoute32Threads() {
+        visitCounterService.recordRequest("GET", "/reviews", 200, ELAPSED_NANOS);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void spreadRoutes32Threads() {
+        String pattern = PATTERNS[ThreadLocalRandom.current().nextInt(PATTERNS.length)];
+        visitCounterService.recordRequest("GET", pattern, 200, ELAPSED_NANOS);
+    }
+}
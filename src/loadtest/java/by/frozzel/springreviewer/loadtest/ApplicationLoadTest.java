@@ -0,0 +1,57 @@
+package by.frozzel.springreviewer.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import by.frozzel.springreviewer.datagen.SyntheticDataGenerator;
+import java.io.IOException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Запуск: mvn -Pload-test test. Приложение поднимается на случайном порту поверх встроенного Postgres,
+// схема создаётся Hibernate, данные загружаются через COPY, затем эндпоинты нагружаются по HTTP
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApplicationLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    // Встроенный сервер останавливается собственным shutdown hook при завершении JVM
+    private static LoadTestDatabase database;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) throws IOException {
+        database = LoadTestDatabase.start(SETTINGS);
+        registry.add("spring.datasource.url", database::getJdbcUrl);
+        registry.add("spring.datasource.username", database::getUsername);
+        registry.add("spring.datasource.password", database::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Math.max(10, SETTINGS.concurrency()));
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("server.tomcat.threads.max", () -> Math.max(200, SETTINGS.concurrency()));
+    }
+
+    @Test
+    void mainEndpointsUnderLoad() throws Exception {
+        long seedingStarted = System.nanoTime();
+        new SyntheticDataGenerator(dataSource, SETTINGS.restoreScript()).generate(SETTINGS.toGeneratorSettings());
+        System.out.printf("Seeded %d reviews in %d s%n", SETTINGS.reviews(),
+                (System.nanoTime() - seedingStarted) / 1_000_000_000);
+
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port, SETTINGS,
+                EndpointScenario.defaults(SETTINGS));
+        LoadTestReport report = generator.run();
+        report.print(System.out);
+        report.writeJson(SETTINGS.reportPath());
+
+        assertThat(report.endpoints()).allSatisfy(result -> assertThat(result.requests()).isPositive());
+    }
+}
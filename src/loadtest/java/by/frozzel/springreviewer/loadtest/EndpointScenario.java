@@ -0,0 +1,41 @@
+package by.frozzel.springreviewer.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+// Эндпоинт под нагрузкой: вес в общей смеси запросов и генератор пути со случайными идентификаторами
+record EndpointScenario(String name, int weight, BiFunction<SplittableRandom, LoadTestSettings, String> path) {
+
+    static List<EndpointScenario> defaults(LoadTestSettings settings) {
+        List<EndpointScenario> scenarios = List.of(
+                new EndpointScenario("GET /reviews/{id}", 20,
+                        (random, s) -> "/reviews/" + (random.nextInt(s.reviews()) + 1)),
+                new EndpointScenario("GET /reviews/teacher/{teacherId}", 15,
+                        (random, s) -> "/reviews/teacher/" + (random.nextInt(s.teachers()) + 1)),
+                new EndpointScenario("GET /reviews/user/{userId}", 15,
+                        (random, s) -> "/reviews/user/" + (random.nextInt(s.users()) + 1)),
+                new EndpointScenario("GET /teachers/{id}", 20,
+                        (random, s) -> "/teachers/" + (random.nextInt(s.teachers()) + 1)),
+                new EndpointScenario("GET /users/{id}", 15,
+                        (random, s) -> "/users/" + (random.nextInt(s.users()) + 1)),
+                new EndpointScenario("GET /subjects", 10, (random, s) -> "/subjects"),
+                new EndpointScenario("GET /teachers", 5, (random, s) -> "/teachers"));
+        if (settings.endpoints().isEmpty()) {
+            return scenarios;
+        }
+        // loadtest.endpoints=/teachers/{id},/subjects - отбор по шаблону пути
+        List<EndpointScenario> selected = new ArrayList<>();
+        for (EndpointScenario scenario : scenarios) {
+            String pattern = scenario.name().substring(scenario.name().indexOf(' ') + 1);
+            if (settings.endpoints().contains(pattern) || settings.endpoints().contains(scenario.name())) {
+                selected.add(scenario);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No load test scenarios match " + settings.endpoints());
+        }
+        return selected;
+    }
+}
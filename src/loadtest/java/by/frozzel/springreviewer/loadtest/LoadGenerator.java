@@ -0,0 +1,126 @@
+package by.frozzel.springreviewer.loadtest;
+
+import by.frozzel.springreviewer.metrics.LatencyHistogram;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Замкнутая модель нагрузки: каждый из concurrency потоков отправляет следующий запрос сразу после ответа
+// на предыдущий. Задержки записываются только после прогрева
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final List<EndpointScenario> scenarios;
+    private final int totalWeight;
+
+    LoadGenerator(String baseUrl, LoadTestSettings settings, List<EndpointScenario> scenarios) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(EndpointScenario::weight).sum();
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        List<EndpointStats> stats = scenarios.stream().map(scenario -> new EndpointStats()).toList();
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long deadline = measureFrom + settings.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        SplittableRandom seedRandom = new SplittableRandom(settings.seed());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            SplittableRandom random = seedRandom.split();
+            workers.execute(() -> runWorker(random, stats, measureFrom, deadline));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(settings.warmup().plus(settings.duration()).plus(REQUEST_TIMEOUT).toSeconds(),
+                TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+
+        List<LoadTestReport.EndpointResult> results = new ArrayList<>();
+        double seconds = settings.duration().toNanos() / 1_000_000_000.0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            results.add(stats.get(i).toResult(scenarios.get(i).name(), seconds));
+        }
+        return new LoadTestReport(settings.concurrency(), settings.duration().toSeconds(), results);
+    }
+
+    private void runWorker(SplittableRandom random, List<EndpointStats> stats, long measureFrom, long deadline) {
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            int index = pickScenario(random);
+            EndpointScenario scenario = scenarios.get(index);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path().apply(random, settings)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            boolean failed;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (now >= measureFrom) {
+                stats.get(index).record(System.nanoTime() - now, failed);
+            }
+        }
+    }
+
+    private int pickScenario(SplittableRandom random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            point -= scenarios.get(i).weight();
+            if (point < 0) {
+                return i;
+            }
+        }
+        return scenarios.size() - 1;
+    }
+
+    private static final class EndpointStats {
+        private final LatencyHistogram latencyMicros = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long elapsedNanos, boolean failed) {
+            latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private LoadTestReport.EndpointResult toResult(String name, double seconds) {
+            LatencyHistogram.Snapshot snapshot = latencyMicros.snapshot();
+            return new LoadTestReport.EndpointResult(
+                    name,
+                    snapshot.getCount(),
+                    errors.sum(),
+                    snapshot.getCount() / seconds,
+                    snapshot.percentile(50) / 1000.0,
+                    snapshot.percentile(95) / 1000.0,
+                    snapshot.percentile(99) / 1000.0,
+                    snapshot.getMax() / 1000.0);
+        }
+    }
+}
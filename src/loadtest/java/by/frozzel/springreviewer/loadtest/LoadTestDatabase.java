@@ -0,0 +1,57 @@
+package by.frozzel.springreviewer.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+
+// Встроенный Postgres из Maven-артефакта (работает без сети и Docker) либо уже запущенный локальный
+// сервер из loadtest.jdbc-url. Схема пересоздаётся, поэтому внешняя БД должна быть одноразовой
+final class LoadTestDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private LoadTestDatabase(EmbeddedPostgres embedded, String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LoadTestDatabase start(LoadTestSettings settings) throws IOException {
+        if (settings.jdbcUrl() != null) {
+            return new LoadTestDatabase(null, settings.jdbcUrl(), settings.username(), settings.password());
+        }
+        // Данные одноразовые: отключаем гарантии долговечности ради скорости загрузки
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                .setLocaleConfig("encoding", "UTF8")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .setServerConfig("full_page_writes", "off")
+                .setServerConfig("max_wal_size", "4GB")
+                .setServerConfig("shared_buffers", "512MB")
+                .start();
+        String url = embedded.getJdbcUrl("postgres", "postgres") + "&stringtype=unspecified";
+        return new LoadTestDatabase(embedded, url, "postgres", "");
+    }
+
+    String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
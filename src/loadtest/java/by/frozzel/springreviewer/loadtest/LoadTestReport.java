@@ -0,0 +1,34 @@
+package by.frozzel.springreviewer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+record LoadTestReport(int concurrency, long durationSeconds, List<EndpointResult> endpoints) {
+
+    record EndpointResult(String endpoint, long requests, long errors, double requestsPerSecond,
+                          double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nLoad test: %d concurrent clients, %d s measured%n", concurrency, durationSeconds);
+        out.printf("%-36s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointResult result : endpoints) {
+            out.printf("%-36s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", result.endpoint(), result.requests(),
+                    result.errors(), result.requestsPerSecond(), result.p50Ms(), result.p95Ms(), result.p99Ms(),
+                    result.maxMs());
+        }
+    }
+
+    void writeJson(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+}
@@ -0,0 +1,58 @@
+package by.frozzel.springreviewer.loadtest;
+
+import by.frozzel.springreviewer.datagen.DataGeneratorSettings;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Параметры прогона передаются системными свойствами: mvn -Pload-test test -Dloadtest.reviews=1000000 ...
+record LoadTestSettings(
+        int teachers,
+        int subjects,
+        int subjectsPerTeacher,
+        int users,
+        int reviews,
+        long seed,
+        double teacherSkew,
+        double userSkew,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        List<String> endpoints,
+        String jdbcUrl,
+        String username,
+        String password,
+        Path reportPath,
+        Path restoreScript) {
+
+    // По умолчанию распределения равномерные: при перекосе Zipf на самых популярных id списочные эндпоинты
+    // возвращают сотни тысяч отзывов и заслоняют остальные результаты
+    static LoadTestSettings fromSystemProperties() {
+        String endpoints = System.getProperty("loadtest.endpoints", "");
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.teachers", 5_000),
+                Integer.getInteger("loadtest.subjects", 500),
+                Integer.getInteger("loadtest.subjects-per-teacher", 3),
+                Integer.getInteger("loadtest.users", 200_000),
+                Integer.getInteger("loadtest.reviews", 5_000_000),
+                Long.getLong("loadtest.seed", 42L),
+                Double.parseDouble(System.getProperty("loadtest.teacher-skew", "0")),
+                Double.parseDouble(System.getProperty("loadtest.user-skew", "0")),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L)),
+                endpoints.isBlank() ? List.of() : Arrays.stream(endpoints.split(",")).map(String::trim).toList(),
+                System.getProperty("loadtest.jdbc-url"),
+                System.getProperty("loadtest.username", "postgres"),
+                System.getProperty("loadtest.password", ""),
+                Path.of(System.getProperty("loadtest.report", "target/load-test-report.json")),
+                Path.of(System.getProperty("loadtest.restore-script", "target/datagen-restore.sql")));
+    }
+
+    DataGeneratorSettings toGeneratorSettings() {
+        int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        return new DataGeneratorSettings(teachers, subjects, subjectsPerTeacher, users, reviews, seed,
+                teacherSkew, userSkew, 5000, parallelism, false);
+    }
+}
@@ -1,22 +1,41 @@
 package by.frozzel.springreviewer.aspect;
 
+import by.frozzel.springreviewer.metrics.MethodMetricsRegistry;
 import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Aspect
 @Component
 public class LoggingAspect {
 
+    private static final int MAX_LOGGED_ARGS_LENGTH = 1000;
+
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final long slowCallThresholdNanos;
+    private final double slowCallLogSampleRate;
+
+    public LoggingAspect(MethodMetricsRegistry methodMetricsRegistry,
+                         @Value("${metrics.methods.slow-threshold-ms:500}") long slowCallThresholdMs,
+                         @Value("${metrics.methods.slow-log-sample-rate:0.1}") double slowCallLogSampleRate) {
+        this.methodMetricsRegistry = methodMetricsRegistry;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs);
+        this.slowCallLogSampleRate = slowCallLogSampleRate;
+    }
+
     @Pointcut("within(by.frozzel.springreviewer.service..*)")
     public void servicePointcut() {
     }
@@ -45,28 +64,38 @@ public class LoggingAspect {
 
     @Around("(servicePointcut() || controllerPointcut()) && !loggingAspectPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isInfoEnabled()) {
-            log.info("ENTER: {}.{}() with argument[s] = {}",
-                    joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(),
-                    Arrays.toString(joinPoint.getArgs()));
-        }
+        // На каждый вызов только замер времени; аргументы форматируются лишь для медленных вызовов из выборки
+        long start = System.nanoTime();
         try {
-            Object result = joinPoint.proceed();
-            if (log.isInfoEnabled()) {
-                String returnValue = (result != null) ? result.getClass().getSimpleName() : "null";
-                log.info("EXIT: {}.{}() with result = {}",
-                        joinPoint.getSignature().getDeclaringTypeName(),
-                        joinPoint.getSignature().getName(),
-                        returnValue);
-            }
-            return result;
+            return joinPoint.proceed();
         } catch (IllegalArgumentException e) {
             log.error("Illegal argument: {} in {}.{}()",
                     Arrays.toString(joinPoint.getArgs()),
                     joinPoint.getSignature().getDeclaringTypeName(),
                     joinPoint.getSignature().getName());
             throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            methodMetricsRegistry.record(((MethodSignature) joinPoint.getSignature()).getMethod(), elapsedNanos);
+            if (elapsedNanos >= slowCallThresholdNanos && isSampled() && log.isWarnEnabled()) {
+                logSlowCall(joinPoint, elapsedNanos);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private boolean isSampled() {
+        return slowCallLogSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowCallLogSampleRate;
+    }
+
+    private void logSlowCall(ProceedingJoinPoint joinPoint, long elapsedNanos) {
+        String args = Arrays.toString(joinPoint.getArgs());
+        if (args.length() > MAX_LOGGED_ARGS_LENGTH) {
+            args = args.substring(0, MAX_LOGGED_ARGS_LENGTH) + "...";
+        }
+        log.warn("SLOW: {}.{}() took {} ms with argument[s] = {}",
+                joinPoint.getSignature().getDeclaringTypeName(),
+                joinPoint.getSignature().getName(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                args);
+    }
+}
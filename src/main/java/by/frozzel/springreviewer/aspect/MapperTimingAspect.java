@@ -0,0 +1,29 @@
+package by.frozzel.springreviewer.aspect;
+
+import by.frozzel.springreviewer.metrics.RequestTimingTracker;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "metrics.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MapperTimingAspect {
+
+    @Around("within(by.frozzel.springreviewer.mapper..*)")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimingTracker.RequestTimings timings = RequestTimingTracker.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        boolean outermost = timings.enterMapper();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.exitMapper(outermost, System.nanoTime() - start);
+        }
+    }
+}
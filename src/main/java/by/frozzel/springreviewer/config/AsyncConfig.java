@@ -1,7 +1,11 @@
 package by.frozzel.springreviewer.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -13,6 +17,9 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class AsyncConfig {
 
     public static final String LOG_GENERATION_EXECUTOR = "logGenerationTaskExecutor";
+    public static final String LOG_EXTRACTION_EXECUTOR = "logExtractionExecutor";
+    public static final String LOG_SEARCH_EXECUTOR = "logSearchExecutor";
+    public static final String JFR_RECORDING_EXECUTOR = "jfrRecordingExecutor";
 
     @Bean(name = LOG_GENERATION_EXECUTOR)
     public Executor logGenerationTaskExecutor() {
@@ -21,11 +28,57 @@ public class AsyncConfig {
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(10);
         executor.setThreadNamePrefix("LogGenAsync-");
-        executor.setRejectedExecutionHandler((r, exec) ->
-                log.warn("Task rejected from log generation executor: {}", r)
-        );
+        executor.setRejectedExecutionHandler((r, exec) -> {
+            log.warn("Task rejected from log generation executor (queue size {}, active {}): {}",
+                    exec.getQueue().size(), exec.getActiveCount(), r);
+            throw new RejectedExecutionException("Log generation executor queue is full");
+        });
         executor.initialize();
         log.info("Configured ThreadPoolTaskExecutor bean with name '{}'", LOG_GENERATION_EXECUTOR);
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = LOG_EXTRACTION_EXECUTOR)
+    public Executor logExtractionExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setQueueCapacity(processors * 4);
+        executor.setThreadNamePrefix("LogExtract-");
+        // При переполнении день обрабатывается в потоке задачи генерации
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        log.info("Configured ThreadPoolTaskExecutor bean with name '{}' ({} threads)", LOG_EXTRACTION_EXECUTOR, processors);
+        return executor;
+    }
+
+    // Отдельный пул, чтобы поиск не вытеснял извлечение логов и не выполнялся в потоке запроса.
+    // Очередь не ограничена: каждый поиск держит в ней не больше logs.search.max-chunks-in-flight частей
+    @Bean(name = LOG_SEARCH_EXECUTOR)
+    public Executor logSearchExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setThreadNamePrefix("LogSearch-");
+        executor.initialize();
+        log.info("Configured ThreadPoolTaskExecutor bean with name '{}' ({} threads)", LOG_SEARCH_EXECUTOR, processors);
+        return executor;
+    }
+
+    // Поток занят на всё время записи; лимит одновременных записей проверяет JfrRecordingRegistry
+    @Bean(name = JFR_RECORDING_EXECUTOR)
+    @ConditionalOnProperty(name = "diagnostics.jfr.enabled", havingValue = "true")
+    public Executor jfrRecordingExecutor(@Value("${diagnostics.jfr.max-concurrent:1}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(maxConcurrent);
+        executor.setThreadNamePrefix("JfrRecording-");
+        executor.initialize();
+        log.info("Configured ThreadPoolTaskExecutor bean with name '{}' ({} threads)", JFR_RECORDING_EXECUTOR,
+                maxConcurrent);
+        return executor;
+    }
+}
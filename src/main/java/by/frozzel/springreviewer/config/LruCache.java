@@ -2,6 +2,7 @@ package by.frozzel.springreviewer.config;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,9 @@ public class LruCache<K, V> {
     private final Map<K, V> cache;
     private final int maxSize;
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     private static final String LOG_CACHE_HIT = "LRU Cache HIT for key: {}";
     private static final String LOG_CACHE_MISS = "LRU Cache MISS for key: {}";
@@ -28,6 +32,7 @@ public class LruCache<K, V> {
             protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
                 boolean shouldRemove = size() > LruCache.this.maxSize;
                 if (shouldRemove) {
+                    evictions.increment();
                     log.info("LRU Cache limit ({}) reached. Removing eldest "
                                    + "(least recently used) entry with key: {}",
                             LruCache.this.maxSize, eldest.getKey());
@@ -43,8 +48,10 @@ public class LruCache<K, V> {
         try {
             V value = cache.get(key);
             if (value != null) {
+                hits.increment();
                 log.info(LOG_CACHE_HIT, key);
             } else {
+                misses.increment();
                 log.info(LOG_CACHE_MISS, key);
             }
             return value;
@@ -72,4 +79,29 @@ public class LruCache<K, V> {
             lock.writeLock().unlock();
         }
     }
-}
\ No newline at end of file
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
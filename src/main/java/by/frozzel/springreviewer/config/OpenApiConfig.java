@@ -0,0 +1,33 @@
+package by.frozzel.springreviewer.config;
+
+import by.frozzel.springreviewer.metrics.RequestTimingTracker;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "metrics.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class OpenApiConfig {
+
+    private static final String SERVER_TIMING_DESCRIPTION = "Время обработки запроса: app (обработчик), "
+            + "db (JDBC, включая ленивую загрузку в мапперах), mapper (мапперы без времени JDBC). "
+            + "Метрика ser (сериализация JSON) известна только после записи тела, поэтому приходит "
+            + "отдельным HTTP-трейлером Server-Timing (chunked HTTP/1.1 или HTTP/2). Инструменты разработчика "
+            + "браузера трейлеры не показывают, ser видна, например, в curl --raw";
+
+    // Заголовок Server-Timing добавляется ко всем ответам, поэтому описывается сразу для всех операций
+    @Bean
+    public OperationCustomizer serverTimingHeaderCustomizer() {
+        return (operation, handlerMethod) -> {
+            if (operation.getResponses() != null) {
+                operation.getResponses().values().forEach(response -> response.addHeaderObject(
+                        RequestTimingTracker.SERVER_TIMING_HEADER,
+                        new Header().description(SERVER_TIMING_DESCRIPTION).schema(new StringSchema())));
+            }
+            return operation;
+        };
+    }
+}
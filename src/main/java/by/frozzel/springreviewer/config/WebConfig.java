@@ -1,7 +1,12 @@
 package by.frozzel.springreviewer.config;
 
+import by.frozzel.springreviewer.interceptor.AllocationTrackingInterceptor;
+import by.frozzel.springreviewer.interceptor.ServerTimingInterceptor;
+import by.frozzel.springreviewer.interceptor.SlowRequestInterceptor;
+import by.frozzel.springreviewer.interceptor.SqlStatementInterceptor;
 import by.frozzel.springreviewer.interceptor.VisitCountingInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,10 +17,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final VisitCountingInterceptor visitCountingInterceptor;
+    private final SlowRequestInterceptor slowRequestInterceptor;
+    private final SqlStatementInterceptor sqlStatementInterceptor;
+    // Отключается свойством metrics.server-timing.enabled (в профиле prod)
+    private final ObjectProvider<ServerTimingInterceptor> serverTimingInterceptor;
+    private final ObjectProvider<AllocationTrackingInterceptor> allocationTrackingInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // SqlStatementInterceptor регистрируется первым: его afterCompletion выполняется последним
+        registry.addInterceptor(sqlStatementInterceptor);
         registry.addInterceptor(visitCountingInterceptor);
+        registry.addInterceptor(slowRequestInterceptor);
+        serverTimingInterceptor.ifAvailable(registry::addInterceptor);
+        allocationTrackingInterceptor.ifAvailable(registry::addInterceptor);
     }
 
     @Override
@@ -0,0 +1,227 @@
+package by.frozzel.springreviewer.controller;
+
+import by.frozzel.springreviewer.model.JfrRecordingTask;
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import by.frozzel.springreviewer.service.JfrRecordingRegistry;
+import by.frozzel.springreviewer.service.JfrRecordingService;
+import by.frozzel.springreviewer.service.LogFileTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+// Запись JFR содержит переменные окружения и системные свойства JVM, в том числе пароли и токены,
+// а аутентификации в приложении нет. Поэтому эндпоинты включаются только явно: diagnostics.jfr.enabled=true
+@RestController
+@ConditionalOnProperty(name = "diagnostics.jfr.enabled", havingValue = "true")
+@RequestMapping("/diagnostics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Diagnostics", description = "API для профилирования работающего приложения")
+public class DiagnosticsController {
+
+    private final JfrRecordingService jfrRecordingService;
+    private final JfrRecordingRegistry jfrRecordingRegistry;
+    private final LogFileTransferService logFileTransferService;
+
+    @PostMapping("/jfr")
+    @Operation(
+            summary = "Запустить запись Java Flight Recorder",
+            description = "Запускает фоновую запись JFR на работающей JVM и немедленно возвращает ID задачи. "
+                    + "По истечении длительности запись сохраняется в .jfr-файл, доступный для скачивания. "
+                    + "Эндпоинты /diagnostics доступны только при diagnostics.jfr.enabled=true. Файл записи содержит "
+                    + "переменные окружения и системные свойства JVM (включая пароли), обращайтесь с ним как с секретом."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Запись запущена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JfrRecordingTaskResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректная длительность или неизвестный набор настроек",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Достигнут лимит одновременных записей, повторите запрос через Retry-After секунд",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<JfrRecordingTaskResponse> startJfrRecording(
+            @Parameter(description = "Длительность записи (например, 60s, 5m; число без единиц - секунды)",
+                    example = "60s")
+            @RequestParam(value = "duration", defaultValue = "60s") String duration,
+            @Parameter(description = "Набор настроек JFR: default (низкие накладные расходы) или profile",
+                    example = "profile")
+            @RequestParam(value = "settings", defaultValue = "profile") String settings) {
+        JfrRecordingTask task = jfrRecordingService.startRecording(duration, settings);
+
+        String statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/diagnostics/jfr/{id}/status")
+                .buildAndExpand(task.getId())
+                .toUriString();
+
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, statusUrl)
+                .body(new JfrRecordingTaskResponse(task.getId(), task.getStatus(), statusUrl));
+    }
+
+    @GetMapping("/jfr/{id}/status")
+    @Operation(
+            summary = "Получить статус записи JFR",
+            description = "Возвращает текущий статус записи по ID задачи."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Статус записи успешно получен",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JfrRecordingTaskStatusResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Задача с указанным ID не найдена",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<JfrRecordingTaskStatusResponse> getJfrRecordingStatus(
+            @Parameter(description = "ID задачи записи", required = true, example = "a1b2c3d4-e5f6-7890-1234-567890abcdef")
+            @PathVariable String id) {
+        JfrRecordingTask task = jfrRecordingRegistry.getTask(id);
+        String downloadUrl = null;
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            downloadUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/diagnostics/jfr/{id}/download")
+                    .buildAndExpand(id)
+                    .toUriString();
+        }
+        return ResponseEntity.ok(JfrRecordingTaskStatusResponse.of(task, downloadUrl));
+    }
+
+    @DeleteMapping("/jfr/{id}")
+    @Operation(
+            summary = "Отменить запись JFR",
+            description = "Останавливает запись без сохранения файла."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Запрос на отмену принят",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = JfrRecordingTaskStatusResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Задача с указанным ID не найдена",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Запись уже завершена",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<JfrRecordingTaskStatusResponse> cancelJfrRecording(
+            @Parameter(description = "ID задачи записи", required = true, example = "a1b2c3d4-e5f6-7890-1234-567890abcdef")
+            @PathVariable String id) {
+        JfrRecordingTask task = jfrRecordingRegistry.cancelTask(id);
+        return ResponseEntity.accepted().body(JfrRecordingTaskStatusResponse.of(task, null));
+    }
+
+    @GetMapping("/jfr/{id}/download")
+    @Operation(
+            summary = "Скачать файл записи JFR",
+            description = "Возвращает .jfr-файл, если запись завершена успешно. Файл открывается в JDK Mission Control."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Файл успешно найден и отправлен",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Задача не найдена",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Запись ещё не завершена или завершилась с ошибкой",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> downloadJfrRecording(
+            @Parameter(description = "ID задачи записи", required = true, example = "a1b2c3d4-e5f6-7890-1234-567890abcdef")
+            @PathVariable String id,
+            HttpServletRequest request) {
+        JfrRecordingTask task = jfrRecordingRegistry.getTask(id);
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "JFR recording is not available. Status: " + task.getStatus());
+        }
+
+        Path recordingPath = task.getResultPath();
+        if (recordingPath == null || !Files.isReadable(recordingPath)) {
+            log.error("JFR recording file for task {} is missing or not readable: {}", id, recordingPath);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "JFR recording file is missing.");
+        }
+        try {
+            return logFileTransferService.buildFileResponse(recordingPath, true, request);
+        } catch (IOException e) {
+            log.error("IO error preparing JFR recording for download for task {}: {}", id, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading JFR recording.", e);
+        }
+    }
+
+    @Schema(description = "Ответ при запуске записи JFR")
+    private record JfrRecordingTaskResponse(
+            @Schema(description = "Уникальный ID задачи", example = "a1b2c3d4-e5f6-7890-1234-567890abcdef") String taskId,
+            @Schema(description = "Начальный статус задачи", example = "PENDING") TaskStatus status,
+            @Schema(description = "URL для проверки статуса задачи", example = "http://localhost:8080/diagnostics/jfr/a1b2c3d4-e5f6-7890-1234-567890abcdef/status") String statusUrl
+    ) {}
+
+    @Schema(description = "Ответ со статусом записи JFR")
+    private record JfrRecordingTaskStatusResponse(
+            @Schema(description = "Текущий статус задачи", example = "RUNNING") TaskStatus status,
+            @Schema(description = "Набор настроек JFR", example = "profile") String settings,
+            @Schema(description = "Длительность записи в секундах", example = "60") long durationSeconds,
+            @Schema(description = "Время начала записи", nullable = true) Instant startedAt,
+            @Schema(description = "Осталось секунд до окончания записи (если статус RUNNING)", example = "42", nullable = true) Long remainingSeconds,
+            @Schema(description = "Сообщение об ошибке (если статус FAILED)", example = "Failed to write recording", nullable = true) String errorMessage,
+            @Schema(description = "URL для скачивания файла (если статус COMPLETED)", example = "http://localhost:8080/diagnostics/jfr/a1b2c3d4-e5f6-7890-1234-567890abcdef/download", nullable = true) String downloadUrl
+    ) {
+        private static JfrRecordingTaskStatusResponse of(JfrRecordingTask task, String downloadUrl) {
+            return new JfrRecordingTaskStatusResponse(task.getStatus(), task.getSettings(),
+                    task.getDuration().toSeconds(), task.getStartedAt(), task.getRemainingSeconds(),
+                    task.getErrorMessage(), downloadUrl);
+        }
+    }
+}
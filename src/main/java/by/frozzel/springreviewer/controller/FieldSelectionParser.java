@@ -0,0 +1,125 @@
+package by.frozzel.springreviewer.controller;
+
+import by.frozzel.springreviewer.exception.BadRequestException;
+import by.frozzel.springreviewer.repository.FieldSelection;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Разбирает параметр ?fields= по полям DisplayDto. Имя вложенного объекта без точки ("teacher")
+// выбирает его целиком. Допустимые поля берутся из самих DTO, но SQL в SparseFieldsRepository перечисляет
+// колонки вручную: новое поле DTO нужно добавить и туда, это проверяет SparseFieldsCoverageTest
+final class FieldSelectionParser {
+
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> dtoType) {
+            return Schema.of(dtoType);
+        }
+    };
+
+    private FieldSelectionParser() {
+    }
+
+    static FieldSelection parse(String fields, Class<?> dtoType) {
+        List<String> paths = new ArrayList<>();
+        if (fields != null) {
+            for (String path : fields.split(",")) {
+                if (!path.isBlank()) {
+                    paths.add(path.trim());
+                }
+            }
+        }
+        Schema schema = SCHEMAS.get(dtoType);
+        return paths.isEmpty() ? all(schema) : select(schema, paths);
+    }
+
+    private static FieldSelection all(Schema schema) {
+        Map<String, FieldSelection> selected = new LinkedHashMap<>();
+        for (String field : schema.fields()) {
+            Class<?> nested = schema.nested().get(field);
+            selected.put(field, nested != null ? all(SCHEMAS.get(nested)) : null);
+        }
+        return new FieldSelection(selected);
+    }
+
+    private static FieldSelection select(Schema schema, List<String> paths) {
+        // null в значении - поле запрошено целиком
+        Map<String, List<String>> requested = new HashMap<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            String field = dot < 0 ? path : path.substring(0, dot);
+            if (!schema.fields().contains(field)) {
+                throw new BadRequestException(String.format("Unknown field '%s', allowed fields: %s",
+                        field, schema.fields()));
+            }
+            if (dot < 0) {
+                requested.put(field, null);
+            } else if (!schema.nested().containsKey(field)) {
+                throw new BadRequestException(String.format("Field '%s' has no nested fields", field));
+            } else {
+                if (!requested.containsKey(field)) {
+                    requested.put(field, new ArrayList<>());
+                }
+                List<String> nestedPaths = requested.get(field);
+                if (nestedPaths != null) {
+                    nestedPaths.add(path.substring(dot + 1));
+                }
+            }
+        }
+
+        // Порядок полей в ответе - как в DTO, а не как в запросе
+        Map<String, FieldSelection> selected = new LinkedHashMap<>();
+        for (String field : schema.fields()) {
+            if (requested.containsKey(field)) {
+                Class<?> nested = schema.nested().get(field);
+                List<String> nestedPaths = requested.get(field);
+                if (nested == null) {
+                    selected.put(field, null);
+                } else {
+                    Schema nestedSchema = SCHEMAS.get(nested);
+                    selected.put(field, nestedPaths == null ? all(nestedSchema) : select(nestedSchema, nestedPaths));
+                }
+            }
+        }
+        return new FieldSelection(selected);
+    }
+
+    // Поля DTO в порядке объявления; вложенными считаются поля (и элементы коллекций) с типом из пакета DTO
+    private record Schema(List<String> fields, Map<String, Class<?>> nested) {
+
+        static Schema of(Class<?> dtoType) {
+            List<String> fields = new ArrayList<>();
+            Map<String, Class<?>> nested = new HashMap<>();
+            for (Field field : dtoType.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                fields.add(field.getName());
+                Class<?> elementType = elementType(field);
+                if (elementType.getPackage() == dtoType.getPackage()) {
+                    nested.put(field.getName(), elementType);
+                }
+            }
+            return new Schema(List.copyOf(fields), Map.copyOf(nested));
+        }
+
+        private static Class<?> elementType(Field field) {
+            if (Collection.class.isAssignableFrom(field.getType())
+                    && field.getGenericType() instanceof ParameterizedType collectionType) {
+                Type argument = collectionType.getActualTypeArguments()[0];
+                if (argument instanceof Class<?> elementClass) {
+                    return elementClass;
+                }
+            }
+            return field.getType();
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package by.frozzel.springreviewer.controller;
 
+import by.frozzel.springreviewer.dto.LogStatsDto;
+import by.frozzel.springreviewer.exception.BadRequestException;
 import by.frozzel.springreviewer.exception.ResourceNotFoundException;
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
 import by.frozzel.springreviewer.model.LogGenerationTask;
-import by.frozzel.springreviewer.model.enums.LogGenerationStatus;
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import by.frozzel.springreviewer.service.LogFileTransferService;
 import by.frozzel.springreviewer.service.LogGenerationTaskRegistry;
+import by.frozzel.springreviewer.service.LogFilter;
+import by.frozzel.springreviewer.service.LogSearchService;
 import by.frozzel.springreviewer.service.LogService;
+import by.frozzel.springreviewer.service.LogStatsService;
+import by.frozzel.springreviewer.service.LogTailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,22 +20,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -35,6 +48,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -47,11 +62,19 @@ public class LogController {
 
     private final LogService logService;
     private final LogGenerationTaskRegistry taskRegistry;
+    private final LogFileTransferService logFileTransferService;
+    private final LogTailService logTailService;
+    private final LogStatsService logStatsService;
+    private final LogSearchService logSearchService;
+
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int MAX_SEARCH_LIMIT = 10000;
 
     @PostMapping("/generate")
     @Operation(
             summary = "Запустить асинхронную генерацию лог-файла",
-            description = "Запускает фоновую задачу генерации лог-файла для указанной даты и немедленно возвращает ID задачи."
+            description = "Запускает фоновую задачу генерации лог-файла для указанной даты или диапазона дат "
+                    + "и немедленно возвращает ID задачи. Дни диапазона обрабатываются параллельно."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -62,22 +85,46 @@ public class LogController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Неверный параметр запроса (дата не указана или некорректный формат)",
+                    description = "Неверный параметр запроса (дата не указана, некорректный формат или диапазон)",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Очередь генерации переполнена, повторите запрос через Retry-After секунд",
                     content = @Content
             )
     })
     public ResponseEntity<LogGenerationTaskResponse> startLogGeneration(
             @Parameter(
-                    description = "Дата для генерации логов (в формате YYYY-MM-DD)",
-                    required = true,
+                    description = "Дата для генерации логов (в формате YYYY-MM-DD); альтернатива паре from/to",
                     example = "2025-04-22")
-            @RequestParam("date")
-            @NotNull(message = "Date parameter is required")
+            @RequestParam(value = "date", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+            @Parameter(description = "Начало диапазона дат (включительно)", example = "2025-04-15")
+            @RequestParam(value = "from", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate date) {
+            LocalDate from,
+            @Parameter(description = "Конец диапазона дат (включительно)", example = "2025-04-22")
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @Parameter(description = "Минимальный уровень логирования (TRACE, DEBUG, INFO, WARN, ERROR)", example = "WARN")
+            @RequestParam(value = "level", required = false) String level,
+            @Parameter(description = "Подстрока имени логгера", example = "b.f.s.service.ReviewService")
+            @RequestParam(value = "logger", required = false) String logger) {
+
+        // Конфликт проверяется по исходным параметрам: после подстановки date в from/to он уже не виден
+        if (date != null && (from != null || to != null)) {
+            throw new BadRequestException("Use either 'date' or 'from'/'to', not both");
+        }
+        LocalDate rangeFrom = date != null ? date : from;
+        LocalDate rangeTo = date != null ? date : to;
+        validateDateRange(rangeFrom, rangeTo);
+        LogFilter filter = LogFilter.of(level, logger);
 
         LogGenerationTask task = taskRegistry.createTask();
-        logService.initiateLogGeneration(task.getId(), date);
+        logService.initiateLogGeneration(task.getId(), rangeFrom, rangeTo, filter);
 
         String statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/logs/generate/{id}/status")
@@ -113,19 +160,49 @@ public class LogController {
         try {
             LogGenerationTask task = taskRegistry.getTask(id);
             String downloadUrl = null;
-            if (task.getStatus() == LogGenerationStatus.COMPLETED) {
+            if (task.getStatus() == TaskStatus.COMPLETED) {
                 downloadUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                         .path("/logs/generate/{id}/download")
                         .buildAndExpand(id)
                         .toUriString();
             }
 
-            return ResponseEntity.ok(new LogGenerationTaskStatusResponse(task.getStatus(), task.getErrorMessage(), downloadUrl));
+            return ResponseEntity.ok(LogGenerationTaskStatusResponse.of(task, downloadUrl));
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
     }
 
+    @DeleteMapping("/generate/{id}")
+    @Operation(
+            summary = "Отменить задачу генерации лог-файла",
+            description = "Задача в очереди снимается сразу, выполняющаяся задача останавливается при следующей проверке прогресса."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Запрос на отмену принят",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LogGenerationTaskStatusResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Задача с указанным ID не найдена",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Задача уже завершена",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<LogGenerationTaskStatusResponse> cancelLogGeneration(
+            @Parameter(description = "ID задачи генерации", required = true, example = "a1b2c3d4-e5f6-7890-1234-567890abcdef")
+            @PathVariable String id) {
+        LogGenerationTask task = taskRegistry.cancelTask(id);
+        return ResponseEntity.accepted().body(LogGenerationTaskStatusResponse.of(task, null));
+    }
+
     @GetMapping("/generate/{id}/download")
     @Operation(
             summary = "Скачать сгенерированный лог-файл",
@@ -137,6 +214,16 @@ public class LogController {
                     description = "Файл успешно найден и отправлен",
                     content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
             ),
+            @ApiResponse(
+                    responseCode = "206",
+                    description = "Отправлен запрошенный диапазон байт (заголовок Range)",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Файл не изменился (If-None-Match / If-Modified-Since)",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Задача не найдена",
@@ -147,23 +234,29 @@ public class LogController {
                     description = "Задача еще не завершена или завершилась с ошибкой",
                     content = @Content
             ),
+            @ApiResponse(
+                    responseCode = "416",
+                    description = "Запрошенный диапазон байт выходит за пределы файла",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Внутренняя ошибка сервера при чтении файла",
                     content = @Content
             )
     })
-    public ResponseEntity<Resource> downloadGeneratedLogFile(
+    public ResponseEntity<StreamingResponseBody> downloadGeneratedLogFile(
             @Parameter(description = "ID задачи генерации", required = true, example = "a1b2c3d4-e5f6-7890-1234-567890abcdef")
-            @PathVariable String id) {
+            @PathVariable String id,
+            HttpServletRequest request) {
         try {
             LogGenerationTask task = taskRegistry.getTask(id);
 
-            if (task.getStatus() == LogGenerationStatus.FAILED) {
+            if (task.getStatus() == TaskStatus.FAILED) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Log generation failed: " + task.getErrorMessage());
             }
 
-            if (task.getStatus() != LogGenerationStatus.COMPLETED) {
+            if (task.getStatus() != TaskStatus.COMPLETED) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Log generation is not yet complete. Status: " + task.getStatus());
             }
 
@@ -173,27 +266,13 @@ public class LogController {
             }
 
             Path logFilePath = task.getResultPath();
-            Resource resource = new FileSystemResource(logFilePath);
 
-            if (!resource.exists() || !resource.isReadable()) {
+            if (!Files.isReadable(logFilePath)) {
                 log.error("Generated log resource not found or not readable for task {}: {}", id, logFilePath);
                 throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Generated log file became unreadable or was deleted.");
             }
 
-            String filename = logFilePath.getFileName().toString();
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-            headers.add(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
-            headers.add(HttpHeaders.PRAGMA, "no-cache");
-            headers.add(HttpHeaders.EXPIRES, "0");
-
-            long contentLength = Files.size(logFilePath);
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .contentLength(contentLength)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(resource);
+            return logFileTransferService.buildFileResponse(logFilePath, true, request);
 
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
@@ -219,6 +298,16 @@ public class LogController {
                     description = "Файл логов успешно найден и отправлен",
                     content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
             ),
+            @ApiResponse(
+                    responseCode = "206",
+                    description = "Отправлен запрошенный диапазон байт (заголовок Range)",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Файл не изменился (If-None-Match / If-Modified-Since)",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Неверный параметр запроса (дата не указана, некорректный формат или дата в будущем)",
@@ -229,13 +318,23 @@ public class LogController {
                     description = "Файл логов на указанную дату не найден",
                     content = @Content
             ),
+            @ApiResponse(
+                    responseCode = "416",
+                    description = "Запрошенный диапазон байт выходит за пределы файла",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Внутренняя ошибка сервера при чтении файла",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Архив за эту дату ещё сжимается после ротации, повторите запрос через Retry-After секунд",
+                    content = @Content
             )
     })
-    public ResponseEntity<Resource> downloadStandardLogFile(
+    public ResponseEntity<StreamingResponseBody> downloadStandardLogFile(
             @Parameter(
                     description = "Дата для скачивания логов (в формате YYYY-MM-DD)",
                     required = true,
@@ -244,31 +343,19 @@ public class LogController {
             @NotNull(message = "Date parameter is required")
             @PastOrPresent(message = "Date must be in the past or present")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate date) {
+            LocalDate date,
+            HttpServletRequest request) {
 
         try {
             Path logFilePath = logService.getLogFilePathForDate(date);
-            Resource resource = new FileSystemResource(logFilePath);
 
-            if (!resource.exists() || !resource.isReadable()) {
+            if (!Files.isReadable(logFilePath)) {
                 log.error("Standard log resource not found or not readable after service check: {}", logFilePath);
                 throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Log file became unreadable or was deleted.");
             }
 
-            String filename = logFilePath.getFileName().toString();
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-            headers.add(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
-            headers.add(HttpHeaders.PRAGMA, "no-cache");
-            headers.add(HttpHeaders.EXPIRES, "0");
-
-            long contentLength = Files.size(logFilePath);
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .contentLength(contentLength)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(resource);
+            boolean archived = date.isBefore(LocalDate.now());
+            return logFileTransferService.buildFileResponse(logFilePath, archived, request);
 
         } catch (ResourceNotFoundException e) {
             log.warn("Standard log file not found request for date {}: {}", date, e.getMessage());
@@ -276,23 +363,163 @@ public class LogController {
         } catch (IOException e) {
             log.error("IO error preparing standard log file for download for date {}: {}", date, e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading standard log file.", e);
+        } catch (ResponseStatusException | ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error getting standard log file for date {}: {}", date, e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.", e);
         }
     }
 
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Поток новых строк текущего лог-файла (Server-Sent Events)",
+            description = "Отправляет новые строки application.log по мере их появления. "
+                    + "Медленные клиенты, не успевающие читать поток, отключаются."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Поток событий 'log', по одной строке лога в событии",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Неизвестный уровень логирования",
+                    content = @Content
+            )
+    })
+    public SseEmitter tailLog(
+            @Parameter(description = "Минимальный уровень логирования (TRACE, DEBUG, INFO, WARN, ERROR)", example = "WARN")
+            @RequestParam(value = "level", required = false) String level,
+            @Parameter(description = "Подстрока имени логгера", example = "b.f.s.service.ReviewService")
+            @RequestParam(value = "logger", required = false) String logger) {
+        return logTailService.subscribe(LogFilter.of(level, logger));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Получить статистику по логам за диапазон дат",
+            description = "Возвращает количество записей по уровням, логгерам и минутам, а также самые частые исключения. "
+                    + "Агрегаты архивных файлов кэшируются, текущий файл дочитывается с последнего смещения."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Статистика успешно получена",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LogStatsDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Неверный диапазон дат",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Ни одного лог-файла за указанный диапазон не найдено",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<LogStatsDto> getLogStats(
+            @Parameter(description = "Начало диапазона дат (включительно)", required = true, example = "2025-04-15")
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @Parameter(description = "Конец диапазона дат (включительно)", required = true, example = "2025-04-22")
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to) {
+        validateDateRange(from, to);
+        return ResponseEntity.ok(logStatsService.getStats(from, to));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Поиск по лог-файлам регулярным выражением",
+            description = "Параллельно сканирует лог-файлы за диапазон дат и возвращает совпадения в формате NDJSON: "
+                    + "по одному JSON-объекту (файл, смещение, время записи, строка) на строку ответа. "
+                    + "Поиск прекращается после limit совпадений."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Поток найденных строк",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректное регулярное выражение, лимит или диапазон дат",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Ни одного лог-файла за указанный диапазон не найдено",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> searchLogs(
+            @Parameter(description = "Регулярное выражение (Java regex)", required = true, example = "requestId=4f2a")
+            @RequestParam("pattern") String pattern,
+            @Parameter(description = "Начало диапазона дат (включительно)", required = true, example = "2025-04-15")
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @Parameter(description = "Конец диапазона дат (включительно)", required = true, example = "2025-04-22")
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @Parameter(description = "Максимальное количество совпадений", example = "1000")
+            @RequestParam(value = "limit", defaultValue = "1000")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = MAX_SEARCH_LIMIT, message = "Limit must be at most " + MAX_SEARCH_LIMIT)
+            int limit) {
+        validateDateRange(from, to);
+        Pattern compiled;
+        try {
+            compiled = Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            throw new BadRequestException("Invalid search pattern: " + e.getDescription());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(logSearchService.search(compiled, from, to, limit));
+    }
+
+    private static void validateDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("Either 'date' or both 'from' and 'to' parameters are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
     @Schema(description = "Ответ при запуске задачи генерации логов")
     private record LogGenerationTaskResponse(
             @Schema(description = "Уникальный ID задачи", example = "a1b2c3d4-e5f6-7890-1234-567890abcdef") String taskId,
-            @Schema(description = "Начальный статус задачи", example = "PENDING") LogGenerationStatus status,
+            @Schema(description = "Начальный статус задачи", example = "PENDING") TaskStatus status,
             @Schema(description = "URL для проверки статуса задачи", example = "http://localhost:8080/logs/generate/a1b2c3d4-e5f6-7890-1234-567890abcdef/status") String statusUrl
     ) {}
 
     @Schema(description = "Ответ со статусом задачи генерации логов")
     private record LogGenerationTaskStatusResponse(
-            @Schema(description = "Текущий статус задачи", example = "RUNNING") LogGenerationStatus status,
+            @Schema(description = "Текущий статус задачи", example = "RUNNING") TaskStatus status,
             @Schema(description = "Сообщение об ошибке (если статус FAILED)", example = "Failed to write file", nullable = true) String errorMessage,
-            @Schema(description = "URL для скачивания файла (если статус COMPLETED)", example = "http://localhost:8080/logs/generate/a1b2c3d4-e5f6-7890-1234-567890abcdef/download", nullable = true) String downloadUrl
-    ) {}
+            @Schema(description = "URL для скачивания файла (если статус COMPLETED)", example = "http://localhost:8080/logs/generate/a1b2c3d4-e5f6-7890-1234-567890abcdef/download", nullable = true) String downloadUrl,
+            @Schema(description = "Обработано байт исходного файла", example = "52428800") long bytesProcessed,
+            @Schema(description = "Размер исходного файла в байтах", example = "104857600") long totalBytes,
+            @Schema(description = "Количество отобранных строк", example = "381204") long linesMatched,
+            @Schema(description = "Прогресс в процентах", example = "50.0", nullable = true) Double progressPercent,
+            @Schema(description = "Оценка оставшегося времени в секундах (если статус RUNNING)", example = "12", nullable = true) Long etaSeconds
+    ) {
+        private static LogGenerationTaskStatusResponse of(LogGenerationTask task, String downloadUrl) {
+            return new LogGenerationTaskStatusResponse(task.getStatus(), task.getErrorMessage(), downloadUrl,
+                    task.getBytesProcessed(), task.getTotalBytes(), task.getLinesMatched(),
+                    task.getProgressPercent(), task.getEtaSeconds());
+        }
+    }
 }
\ No newline at end of file
@@ -1,11 +1,22 @@
 package by.frozzel.springreviewer.controller;
 
+import by.frozzel.springreviewer.dto.AllocationMetricsDto;
+import by.frozzel.springreviewer.dto.MethodLatencyDto;
+import by.frozzel.springreviewer.dto.RouteMetricsDto;
+import by.frozzel.springreviewer.dto.SlowRequestDto;
+import by.frozzel.springreviewer.dto.VisitRatesDto;
+import by.frozzel.springreviewer.metrics.AllocationMetricsRegistry;
+import by.frozzel.springreviewer.metrics.MethodMetricsRegistry;
+import by.frozzel.springreviewer.metrics.PrometheusMetricsExporter;
+import by.frozzel.springreviewer.metrics.SlowRequestBuffer;
 import by.frozzel.springreviewer.service.VisitCounterService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema; // Убедитесь, что импорт правильный
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -20,6 +31,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class MetricsController {
 
     private final VisitCounterService visitCounterService;
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final PrometheusMetricsExporter prometheusMetricsExporter;
+    private final SlowRequestBuffer slowRequestBuffer;
+    private final AllocationMetricsRegistry allocationMetricsRegistry;
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
 
     @GetMapping("/visits/by-url")
     @Operation(summary = "Получить статистику посещений (GET запросов) по каждому URL")
@@ -35,4 +52,81 @@ public class MetricsController {
     public Map<String, Long> getUrlVisitCounts() {
         return visitCounterService.getAllVisitCounts();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/visits/routes")
+    @Operation(summary = "Получить метрики запросов по каждому маршруту",
+            description = "Количество запросов по HTTP-методу, URL-паттерну и классу статуса ответа, "
+                    + "а также квантили p50/p95/p99 и максимум времени обработки в миллисекундах. "
+                    + "count и statusCounts относятся к текущему запуску приложения, как и задержки; "
+                    + "allTimeCount и allTimeStatusCounts включают запросы, сохранённые в базе до запуска")
+    @ApiResponse(responseCode = "200", description = "Список маршрутов с количеством запросов и задержками",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = RouteMetricsDto.class))
+            )
+    )
+    public List<RouteMetricsDto> getRouteMetrics() {
+        return visitCounterService.getRouteMetrics();
+    }
+
+    @GetMapping("/visits/rates")
+    @Operation(summary = "Получить текущую нагрузку по маршрутам",
+            description = "Запросы в секунду, ошибки (5xx) в секунду и доля ошибок за последние 1, 5 и 15 минут, "
+                    + "в целом и по каждому маршруту, получавшему запросы за последние 15 минут")
+    @ApiResponse(responseCode = "200", description = "Скорости запросов и ошибок по окнам",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = VisitRatesDto.class)
+            )
+    )
+    public VisitRatesDto getVisitRates() {
+        return visitCounterService.getVisitRates();
+    }
+
+    @GetMapping("/methods")
+    @Operation(summary = "Получить распределение времени выполнения методов контроллеров и сервисов",
+            description = "Квантили p50/p95/p99 и максимум в миллисекундах, отсортировано по p99")
+    @ApiResponse(responseCode = "200", description = "Список методов с гистограммами задержек",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = MethodLatencyDto.class))
+            )
+    )
+    public List<MethodLatencyDto> getMethodLatencies() {
+        return methodMetricsRegistry.getMethodLatencies();
+    }
+
+    @GetMapping("/slow-requests")
+    @Operation(summary = "Получить последние медленные запросы",
+            description = "Запросы дольше порога metrics.slow-requests.threshold-ms, от новых к старым: маршрут, "
+                    + "параметры, общее время, количество SQL-запросов и время в JDBC")
+    @ApiResponse(responseCode = "200", description = "Список медленных запросов",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = SlowRequestDto.class))
+            )
+    )
+    public List<SlowRequestDto> getSlowRequests() {
+        return slowRequestBuffer.getRecent();
+    }
+
+    @GetMapping("/allocations")
+    @Operation(summary = "Получить выделение памяти и процессорное время по маршрутам",
+            description = "Байты, выделенные потоком обработки, и CPU-время на запрос по HTTP-методу и URL-паттерну; "
+                    + "маршруты отсортированы по суммарному объёму выделенной памяти")
+    @ApiResponse(responseCode = "200", description = "Список маршрутов с выделением памяти и CPU-временем",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = AllocationMetricsDto.class))
+            )
+    )
+    public List<AllocationMetricsDto> getAllocations() {
+        return allocationMetricsRegistry.getAllocations();
+    }
+
+    @GetMapping(value = "/prometheus", produces = PROMETHEUS_CONTENT_TYPE)
+    @Operation(summary = "Получить все метрики приложения в текстовом формате Prometheus",
+            description = "Счётчики и задержки запросов, время методов, статистика LRU-кэша, "
+                    + "очереди пулов генерации логов, пул соединений Hikari, память и GC JVM")
+    @ApiResponse(responseCode = "200", description = "Метрики в формате экспозиции Prometheus 0.0.4",
+            content = @Content(mediaType = MediaType.TEXT_PLAIN_VALUE)
+    )
+    public String getPrometheusMetrics() {
+        return prometheusMetricsExporter.scrape();
+    }
+}
@@ -1,7 +1,9 @@
 package by.frozzel.springreviewer.controller;
 
+import by.frozzel.springreviewer.dto.NormalizedReviewsDto;
 import by.frozzel.springreviewer.dto.ReviewCreateDto;
 import by.frozzel.springreviewer.dto.ReviewDisplayDto;
+import by.frozzel.springreviewer.exception.BadRequestException;
 import by.frozzel.springreviewer.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +19,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -37,6 +40,16 @@ import org.springframework.web.bind.annotation.RestController;
 @Validated
 @Tag(name = "Reviews", description = "API для управления отзывами")
 public class ReviewController {
+    // ?shape=normalized: преподаватели и предметы выносятся в отдельные словари по id
+    private static final String SHAPE = "shape";
+    private static final String NORMALIZED = "normalized";
+    private static final String NORMALIZED_SHAPE = SHAPE + "=" + NORMALIZED;
+    // ?fields=id,grade,date: в ответе и в SQL только перечисленные поля; имеет приоритет над shape
+    private static final String SPARSE_FIELDS = "fields";
+    private static final String NORMALIZED_SHAPE_DESCRIPTION = "Вызывается с параметром shape=normalized. "
+            + "Отзывы содержат teacherId и subjectId, а каждый преподаватель и предмет "
+            + "выводится один раз в словарях teachers и subjects.";
+
     private final ReviewService reviewService;
 
     @PostMapping
@@ -60,13 +73,48 @@ public class ReviewController {
 
     @GetMapping
     @Operation(summary = "Получить все отзывы")
-    @ApiResponse(responseCode = "200", description = "Список всех отзывов",
-            content = @Content(mediaType = "application/json",
-                    array = @ArraySchema(schema = @Schema(implementation = ReviewDisplayDto.class))))
-    public List<ReviewDisplayDto> getAllReviews() {
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список всех отзывов",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ReviewDisplayDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Неизвестное значение shape", content = @Content)
+    })
+    public List<ReviewDisplayDto> getAllReviews(
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
         return reviewService.getAllReviews();
     }
 
+    @GetMapping(params = SPARSE_FIELDS)
+    @Operation(summary = "Получить все отзывы только с выбранными полями")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отзывы с выбранными полями",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(type = "object")))),
+            @ApiResponse(responseCode = "400", description = "Неизвестное поле или значение shape",
+                    content = @Content)
+    })
+    public List<Map<String, Object>> getAllReviewsWithFields(
+            @Parameter(description = "Поля через запятую; вложенные - через точку", required = true,
+                    example = "id,grade,date")
+            @RequestParam String fields,
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
+        return reviewService.getAllReviews(FieldSelectionParser.parse(fields, ReviewDisplayDto.class));
+    }
+
+    @GetMapping(params = {NORMALIZED_SHAPE, "!" + SPARSE_FIELDS})
+    @Operation(summary = "Получить все отзывы в нормализованном виде",
+            description = NORMALIZED_SHAPE_DESCRIPTION)
+    @ApiResponse(responseCode = "200", description = "Отзывы, преподаватели и предметы",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = NormalizedReviewsDto.class)))
+    public NormalizedReviewsDto getAllReviewsNormalized() {
+        return reviewService.getAllReviewsNormalized();
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Получить отзыв по ID")
     @ApiResponses(value = {
@@ -143,34 +191,124 @@ public class ReviewController {
             @ApiResponse(responseCode = "200", description = "Список отзывов о преподавателе",
                     content = @Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = ReviewDisplayDto.class)))),
-            @ApiResponse(responseCode = "400", description = "Некорректный ID преподавателя",
+            @ApiResponse(responseCode = "400", description = "Некорректный ID преподавателя или неизвестное значение shape",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Преподаватель с указанным ID не найден (или о нем нет отзывов)",
                     content = @Content)
     })
     public List<ReviewDisplayDto> getReviewsByTeacherId(
             @Parameter(description = "ID преподавателя", required = true, example = "10")
-            @PathVariable @Min(value = 1, message = "Teacher ID must be positive") Integer teacherId) {
+            @PathVariable @Min(value = 1, message = "Teacher ID must be positive") Integer teacherId,
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
         return reviewService.getReviewsByTeacherId(teacherId);
     }
 
+    @GetMapping(value = "/teacher/{teacherId}", params = SPARSE_FIELDS)
+    @Operation(summary = "Получить отзывы о преподавателе только с выбранными полями")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отзывы с выбранными полями",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(type = "object")))),
+            @ApiResponse(responseCode = "400", description = "Некорректный ID преподавателя или неизвестное поле или значение shape",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Преподаватель с указанным ID не найден (или о нем нет отзывов)",
+                    content = @Content)
+    })
+    public List<Map<String, Object>> getReviewsByTeacherIdWithFields(
+            @Parameter(description = "ID преподавателя", required = true, example = "10")
+            @PathVariable @Min(value = 1, message = "Teacher ID must be positive") Integer teacherId,
+            @Parameter(description = "Поля через запятую; вложенные - через точку", required = true,
+                    example = "id,grade,date,teacher.surname")
+            @RequestParam String fields,
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
+        return reviewService.getReviewsByTeacherId(teacherId,
+                FieldSelectionParser.parse(fields, ReviewDisplayDto.class));
+    }
+
+    @GetMapping(value = "/teacher/{teacherId}", params = {NORMALIZED_SHAPE, "!" + SPARSE_FIELDS})
+    @Operation(summary = "Получить отзывы о преподавателе в нормализованном виде",
+            description = NORMALIZED_SHAPE_DESCRIPTION)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отзывы, преподаватели и предметы",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NormalizedReviewsDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный ID преподавателя",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Преподаватель с указанным ID не найден (или о нем нет отзывов)",
+                    content = @Content)
+    })
+    public NormalizedReviewsDto getReviewsByTeacherIdNormalized(
+            @Parameter(description = "ID преподавателя", required = true, example = "10")
+            @PathVariable @Min(value = 1, message = "Teacher ID must be positive") Integer teacherId) {
+        return reviewService.getReviewsByTeacherIdNormalized(teacherId);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Получить все отзывы пользователя по его ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список отзывов пользователя",
                     content = @Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = ReviewDisplayDto.class)))),
-            @ApiResponse(responseCode = "400", description = "Некорректный ID пользователя",
+            @ApiResponse(responseCode = "400", description = "Некорректный ID пользователя или неизвестное значение shape",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Пользователь с указанным ID не найден (или у него нет отзывов)",
                     content = @Content)
     })
     public List<ReviewDisplayDto> getReviewsByUserId(
             @Parameter(description = "ID пользователя", required = true, example = "5")
-            @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId) {
+            @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId,
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
         return reviewService.getReviewsByUserId(userId);
     }
 
+    @GetMapping(value = "/user/{userId}", params = SPARSE_FIELDS)
+    @Operation(summary = "Получить отзывы пользователя только с выбранными полями")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отзывы с выбранными полями",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(type = "object")))),
+            @ApiResponse(responseCode = "400", description = "Некорректный ID пользователя или неизвестное поле или значение shape",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Пользователь с указанным ID не найден (или у него нет отзывов)",
+                    content = @Content)
+    })
+    public List<Map<String, Object>> getReviewsByUserIdWithFields(
+            @Parameter(description = "ID пользователя", required = true, example = "5")
+            @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId,
+            @Parameter(description = "Поля через запятую; вложенные - через точку", required = true,
+                    example = "id,grade,date")
+            @RequestParam String fields,
+            @Parameter(description = "Форма ответа; поддерживается только normalized", example = "normalized")
+            @RequestParam(value = SHAPE, required = false) String shape) {
+        requireKnownShape(shape);
+        return reviewService.getReviewsByUserId(userId,
+                FieldSelectionParser.parse(fields, ReviewDisplayDto.class));
+    }
+
+    @GetMapping(value = "/user/{userId}", params = {NORMALIZED_SHAPE, "!" + SPARSE_FIELDS})
+    @Operation(summary = "Получить отзывы пользователя в нормализованном виде",
+            description = NORMALIZED_SHAPE_DESCRIPTION)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отзывы, преподаватели и предметы",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NormalizedReviewsDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный ID пользователя",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Пользователь с указанным ID не найден (или у него нет отзывов)",
+                    content = @Content)
+    })
+    public NormalizedReviewsDto getReviewsByUserIdNormalized(
+            @Parameter(description = "ID пользователя", required = true, example = "5")
+            @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId) {
+        return reviewService.getReviewsByUserIdNormalized(userId);
+    }
+
     @GetMapping("/stats/teacher-counts")
     @Operation(summary = "Получить статистику: количество отзывов по каждому преподавателю",
             description = "Возвращает список массивов Object[], где каждый подмассив содержит информацию о преподавателе и количество отзывов о нем.")
@@ -208,4 +346,11 @@ public class ReviewController {
         return reviewService.searchReviews(startDate,
                 endDate, teacherSurname, subjectName, minGrade);
     }
-}
\ No newline at end of file
+
+    // shape=normalized уходит в отдельные обработчики; любое другое значение - опечатка, а не обычный ответ
+    private static void requireKnownShape(String shape) {
+        if (shape != null && !NORMALIZED.equals(shape)) {
+            throw new BadRequestException(String.format("Unknown shape '%s', allowed shapes: [%s]", shape, NORMALIZED));
+        }
+    }
+}
@@ -17,6 +17,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
@@ -47,6 +48,19 @@ public class TeacherController {
         return teacherService.getAllTeachers();
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Получить список преподавателей только с выбранными полями",
+            description = "Без поля subjects предметы преподавателей не загружаются.")
+    @ApiResponse(responseCode = "200", description = "Преподаватели с выбранными полями",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "object"))))
+    public List<Map<String, Object>> getAllTeachersWithFields(
+            @Parameter(description = "Поля через запятую; вложенные - через точку", required = true,
+                    example = "id,surname,name")
+            @RequestParam String fields) {
+        return teacherService.getAllTeachers(FieldSelectionParser.parse(fields, TeacherDisplayDto.class));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Получить преподавателя по ID")
     @ApiResponses(value = {
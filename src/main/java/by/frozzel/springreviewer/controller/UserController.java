@@ -18,6 +18,8 @@ import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,8 +27,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @RestController
@@ -65,6 +69,22 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Получить список пользователей только с выбранными полями",
+            description = "Без поля reviews отзывы пользователей не загружаются. Ответ передаётся потоком, "
+                    + "пользователи и их отзывы читаются порциями.")
+    @ApiResponse(responseCode = "200", description = "Пользователи с выбранными полями",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "object"))))
+    public ResponseEntity<StreamingResponseBody> getAllUsersWithFields(
+            @Parameter(description = "Поля через запятую; вложенные - через точку", required = true,
+                    example = "id,username")
+            @RequestParam String fields) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userService.streamAllUsers(FieldSelectionParser.parse(fields, UserDisplayDto.class)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Получить пользователя по ID")
     @ApiResponses(value = {
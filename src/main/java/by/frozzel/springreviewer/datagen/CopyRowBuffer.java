@@ -0,0 +1,83 @@
+package by.frozzel.springreviewer.datagen;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.postgresql.copy.CopyIn;
+
+// Строки COPY в текстовом формате пишутся сразу в байты UTF-8 и отправляются блоками,
+// без промежуточных String на каждую строку
+final class CopyRowBuffer {
+
+    private static final int CAPACITY = 512 * 1024;
+    // Запас под самую длинную строку: комментарий до 5000 символов кириллицы плюс остальные поля
+    private static final int MAX_ROW_BYTES = 16 * 1024;
+    private static final byte[] NULL = "\\N".getBytes(StandardCharsets.US_ASCII);
+
+    private final CopyIn copyIn;
+    private final byte[] buffer = new byte[CAPACITY];
+    private final byte[] digits = new byte[20];
+    private int position;
+
+    CopyRowBuffer(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    CopyRowBuffer number(long value) {
+        if (value == 0) {
+            buffer[position++] = '0';
+            return this;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int length = 0;
+        while (value > 0) {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        while (length > 0) {
+            buffer[position++] = digits[--length];
+        }
+        return this;
+    }
+
+    // Значение должно быть уже экранировано для COPY (без табуляций, переводов строк и '\')
+    CopyRowBuffer bytes(byte[] value) {
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+        return this;
+    }
+
+    CopyRowBuffer text(String value) {
+        return bytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    CopyRowBuffer nullValue() {
+        return bytes(NULL);
+    }
+
+    CopyRowBuffer space() {
+        buffer[position++] = ' ';
+        return this;
+    }
+
+    CopyRowBuffer tab() {
+        buffer[position++] = '\t';
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer[position++] = '\n';
+        if (position > CAPACITY - MAX_ROW_BYTES) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (position > 0) {
+            copyIn.writeToCopy(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package by.frozzel.springreviewer.datagen;
+
+import java.nio.file.Path;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Запуск: java -jar app.jar --spring.profiles.active=datagen --datagen.reviews=10000000 --datagen.seed=7.
+// После загрузки приложение завершается; веб-сервер в этом профиле не поднимается
+@Component
+@Profile("datagen")
+@Slf4j
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final ConfigurableApplicationContext context;
+    private final DataGeneratorSettings settings;
+    private final boolean exitOnCompletion;
+    private final Path restoreScript;
+
+    public DataGeneratorRunner(DataSource dataSource,
+                               ConfigurableApplicationContext context,
+                               @Value("${datagen.teachers:5000}") int teachers,
+                               @Value("${datagen.subjects:500}") int subjects,
+                               @Value("${datagen.subjects-per-teacher:3}") int subjectsPerTeacher,
+                               @Value("${datagen.users:500000}") int users,
+                               @Value("${datagen.reviews:10000000}") long reviews,
+                               @Value("${datagen.seed:42}") long seed,
+                               @Value("${datagen.teacher-skew:0.8}") double teacherSkew,
+                               @Value("${datagen.user-skew:1.0}") double userSkew,
+                               @Value("${datagen.max-comment-length:5000}") int maxCommentLength,
+                               @Value("${datagen.parallelism:8}") int parallelism,
+                               @Value("${datagen.truncate:false}") boolean truncate,
+                               @Value("${datagen.exit-on-completion:true}") boolean exitOnCompletion,
+                               @Value("${datagen.restore-script:./datagen-restore.sql}") String restoreScript) {
+        this.dataSource = dataSource;
+        this.context = context;
+        this.settings = new DataGeneratorSettings(teachers, subjects, subjectsPerTeacher, users, reviews, seed,
+                teacherSkew, userSkew, maxCommentLength, parallelism, truncate);
+        this.exitOnCompletion = exitOnCompletion;
+        this.restoreScript = Path.of(restoreScript);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Generating synthetic dataset: {}", settings);
+        new SyntheticDataGenerator(dataSource, restoreScript).generate(settings);
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
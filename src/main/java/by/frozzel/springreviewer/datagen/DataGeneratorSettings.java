@@ -0,0 +1,29 @@
+package by.frozzel.springreviewer.datagen;
+
+// Размеры и распределения синтетического набора данных. При одинаковых параметрах и seed
+// результат совпадает независимо от parallelism: отзывы делятся на блоки фиксированного размера
+public record DataGeneratorSettings(
+        int teachers,
+        int subjects,
+        int subjectsPerTeacher,
+        int users,
+        long reviews,
+        long seed,
+        double teacherSkew,
+        double userSkew,
+        int maxCommentLength,
+        int parallelism,
+        boolean truncate) {
+
+    public DataGeneratorSettings {
+        if (teachers < 1 || subjects < 1 || subjectsPerTeacher < 1 || users < 1 || reviews < 0) {
+            throw new IllegalArgumentException("Dataset sizes must be positive");
+        }
+        if (teacherSkew < 0 || userSkew < 0) {
+            throw new IllegalArgumentException("Zipf exponents must not be negative");
+        }
+        if (maxCommentLength < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("maxCommentLength and parallelism must be positive");
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package by.frozzel.springreviewer.datagen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+// Заполняет teachers, subjects, teacher_subject, users и reviews через COPY FROM STDIN.
+// На время загрузки внешние ключи и вторичные индексы этих таблиц снимаются и затем
+// создаются заново: одна проверка по всей таблице дешевле построчной. Команды восстановления до удаления
+// пишутся в лог и в restoreScript, чтобы схему можно было вернуть вручную, если процесс прервётся
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final long REVIEWS_PER_CHUNK = 1_000_000;
+    private static final long CHUNK_SEED_STEP = 0x9E3779B97F4A7C15L;
+    private static final LocalDate FIRST_REVIEW_DATE = LocalDate.of(2020, 1, 1);
+    private static final int REVIEW_DATE_RANGE_DAYS = 5 * 365;
+    // Длина комментария распределена логнормально: большинство короткие, редкие - до предела колонки
+    private static final double COMMENT_LOG_MEDIAN = Math.log(60);
+    private static final double COMMENT_LOG_SIGMA = 1.1;
+    private static final int NO_COMMENT_PERCENT = 10;
+    private static final String[] TABLES = {"reviews", "teacher_subject", "users", "teachers", "subjects"};
+    private static final String[] SURNAMES = {
+        "Иванов", "Петров", "Смирнова", "Кузнецов", "Попова", "Соколов", "Лебедева", "Козлов",
+        "Новикова", "Морозов", "Волкова", "Зайцев", "Павлова", "Семёнов", "Голубева", "Виноградов"
+    };
+    private static final String[] NAMES = {
+        "Александр", "Мария", "Дмитрий", "Анна", "Сергей", "Елена", "Андрей", "Ольга",
+        "Алексей", "Наталья", "Михаил", "Ирина", "Николай", "Татьяна", "Владимир", "Светлана"
+    };
+    private static final String[] PATRONYMS = {
+        "Александрович", "Сергеевна", "Дмитриевич", "Андреевна", "Николаевич", "Владимировна",
+        "Михайлович", "Игоревна", "Петрович", "Алексеевна", "Иванович", "Викторовна"
+    };
+    private static final String[] SUBJECT_NAMES = {
+        "Математический анализ", "Линейная алгебра", "Физика", "Программирование", "Базы данных",
+        "Операционные системы", "Компьютерные сети", "Философия", "История", "Английский язык",
+        "Теория вероятностей", "Дискретная математика", "Экономика", "Электротехника", "Схемотехника"
+    };
+    private static final byte[][] COMMENT_WORDS = utf8(
+            "лекции", "практика", "экзамен", "понятно", "строго", "интересно", "задания", "зачёт",
+            "объясняет", "требует", "материал", "курс", "лабораторные", "помогает", "сложно", "отлично",
+            "преподаватель", "всегда", "отвечает", "на", "вопросы", "и", "но", "очень", "много",
+            "домашних", "работ", "оценивает", "честно", "рекомендую", "скучно", "полезно");
+    private static final int[] COMMENT_WORD_LENGTHS = charLengths(COMMENT_WORDS);
+    private static final byte[][] REVIEW_DATES = reviewDates();
+
+    private final DataSource dataSource;
+    private final Path restoreScript;
+
+    public SyntheticDataGenerator(DataSource dataSource, Path restoreScript) {
+        this.dataSource = dataSource;
+        this.restoreScript = restoreScript;
+    }
+
+    public void generate(DataGeneratorSettings settings) throws SQLException {
+        long started = System.nanoTime();
+        List<String> restoreStatements;
+        int commentLimit;
+        try (Connection connection = dataSource.getConnection()) {
+            prepareTables(connection, settings.truncate());
+            commentLimit = Math.min(settings.maxCommentLength(), commentColumnLength(connection));
+            restoreStatements = dropConstraintsAndIndexes(connection);
+        }
+        if (commentLimit < settings.maxCommentLength()) {
+            log.warn("reviews.comment is limited to {} characters, longer comments are not generated", commentLimit);
+        }
+
+        try {
+            copyReferenceTables(settings);
+            copyReviews(settings, commentLimit);
+        } catch (SQLException | RuntimeException e) {
+            // Ошибка восстановления не должна скрыть исходную причину
+            try {
+                restore(restoreStatements);
+            } catch (SQLException restoreFailure) {
+                e.addSuppressed(restoreFailure);
+            }
+            throw e;
+        }
+        restore(restoreStatements);
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : new String[]{"subjects", "teachers", "users", "reviews"}) {
+                execute(connection, "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+            }
+            execute(connection, "ANALYZE");
+        }
+        log.info("Generated {} teachers, {} subjects, {} users and {} reviews in {} ms", settings.teachers(),
+                settings.subjects(), settings.users(), settings.reviews(), elapsedMillis(started));
+    }
+
+    private static void prepareTables(Connection connection, boolean truncate) throws SQLException {
+        if (truncate) {
+            execute(connection, "TRUNCATE " + String.join(", ", TABLES) + " RESTART IDENTITY");
+            return;
+        }
+        for (String table : TABLES) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    throw new IllegalStateException("Table " + table
+                            + " already contains data; set datagen.truncate=true to replace it");
+                }
+            }
+        }
+    }
+
+    // Колонка могла быть создана Hibernate до появления @Column(length = 5000) и остаться varchar(255)
+    private static int commentColumnLength(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT character_maximum_length"
+                     + " FROM information_schema.columns"
+                     + " WHERE table_schema = current_schema() AND table_name = 'reviews' AND column_name = 'comment'")) {
+            if (resultSet.next() && resultSet.getObject(1) != null) {
+                return resultSet.getInt(1);
+            }
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    // Возвращает команды восстановления: сначала индексы, затем внешние ключи
+    private List<String> dropConstraintsAndIndexes(Connection connection) throws SQLException {
+        List<String> foreignKeys = new ArrayList<>();
+        List<String> dropForeignKeys = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT conrelid::regclass::text, quote_ident(conname),"
+                     + " pg_get_constraintdef(oid) FROM pg_constraint WHERE contype = 'f'"
+                     + " AND conrelid IN ('reviews'::regclass, 'teacher_subject'::regclass)")) {
+            while (resultSet.next()) {
+                String table = resultSet.getString(1);
+                String name = resultSet.getString(2);
+                dropForeignKeys.add("ALTER TABLE " + table + " DROP CONSTRAINT " + name);
+                foreignKeys.add("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + resultSet.getString(3));
+            }
+        }
+        List<String> indexes = new ArrayList<>();
+        List<String> dropIndexes = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT x.indexrelid::regclass::text,"
+                     + " pg_get_indexdef(x.indexrelid) FROM pg_index x"
+                     + " WHERE x.indrelid IN ('reviews'::regclass, 'teacher_subject'::regclass)"
+                     + " AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)")) {
+            while (resultSet.next()) {
+                dropIndexes.add("DROP INDEX " + resultSet.getString(1));
+                indexes.add(resultSet.getString(2));
+            }
+        }
+        List<String> restoreStatements = new ArrayList<>(indexes);
+        restoreStatements.addAll(foreignKeys);
+        saveRestoreStatements(restoreStatements);
+
+        // DDL в PostgreSQL транзакционно: либо сняты все ограничения, либо ни одно
+        connection.setAutoCommit(false);
+        try {
+            for (String sql : dropForeignKeys) {
+                execute(connection, sql);
+            }
+            for (String sql : dropIndexes) {
+                execute(connection, sql);
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return restoreStatements;
+    }
+
+    private void saveRestoreStatements(List<String> restoreStatements) {
+        StringBuilder script = new StringBuilder();
+        for (String sql : restoreStatements) {
+            script.append(sql).append(";\n");
+            log.info("Restore statement: {};", sql);
+        }
+        try {
+            Files.writeString(restoreScript, script, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save restore statements to " + restoreScript, e);
+        }
+        log.info("Saved {} restore statements to {}", restoreStatements.size(), restoreScript.toAbsolutePath());
+    }
+
+    // Выполняет все команды, даже если часть из них не удалась; первая ошибка выбрасывается, остальные
+    // присоединяются к ней
+    private void restore(List<String> restoreStatements) throws SQLException {
+        long started = System.nanoTime();
+        SQLException failure = null;
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : restoreStatements) {
+                try {
+                    execute(connection, sql);
+                } catch (SQLException e) {
+                    log.error("Could not restore '{}': {}", sql, e.getMessage());
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw new SQLException("Some indexes or foreign keys were not restored, see " + restoreScript, failure);
+        }
+        log.info("Restored {} indexes and foreign keys in {} ms", restoreStatements.size(), elapsedMillis(started));
+    }
+
+    private void copyReferenceTables(DataGeneratorSettings settings) throws SQLException {
+        int perTeacher = subjectsPerTeacher(settings);
+        copy("COPY subjects (id, name) FROM STDIN", 1, settings.subjects() + 1L, (id, row) -> {
+            int index = (int) (id - 1);
+            row.number(id).tab().text(SUBJECT_NAMES[index % SUBJECT_NAMES.length]);
+            if (index >= SUBJECT_NAMES.length) {
+                row.space().number(index / SUBJECT_NAMES.length + 1);
+            }
+        });
+        copy("COPY teachers (id, surname, name, patronym) FROM STDIN", 1, settings.teachers() + 1L, (id, row) -> row
+                .number(id)
+                .tab().text(SURNAMES[(int) (id % SURNAMES.length)])
+                .tab().text(NAMES[(int) (id / SURNAMES.length % NAMES.length)])
+                .tab().text(PATRONYMS[(int) (id % PATRONYMS.length)]));
+        copy("COPY teacher_subject (teacher_id, subject_id) FROM STDIN", 0, (long) settings.teachers() * perTeacher,
+                (index, row) -> {
+                    long teacherId = index / perTeacher + 1;
+                    row.number(teacherId).tab().number(teacherSubject(teacherId, index % perTeacher,
+                            settings.subjects()));
+                });
+        copy("COPY users (id, username) FROM STDIN", 1, settings.users() + 1L,
+                (id, row) -> row.number(id).tab().text("user").number(id));
+    }
+
+    // Отзывы делятся на блоки по REVIEWS_PER_CHUNK строк; каждый блок - отдельный COPY на своём соединении
+    // со своим генератором случайных чисел, поэтому блоки грузятся параллельно и воспроизводимо
+    private void copyReviews(DataGeneratorSettings settings, int commentLimit) throws SQLException {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        ZipfSampler teachers = new ZipfSampler(settings.teachers(), settings.teacherSkew(), random);
+        ZipfSampler users = new ZipfSampler(settings.users(), settings.userSkew(), random);
+        int perTeacher = subjectsPerTeacher(settings);
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.parallelism());
+        try {
+            List<Future<Void>> chunks = new ArrayList<>();
+            for (long from = 1, chunk = 1; from <= settings.reviews(); from += REVIEWS_PER_CHUNK, chunk++) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(from + REVIEWS_PER_CHUNK, settings.reviews() + 1);
+                SplittableRandom chunkRandom = new SplittableRandom(settings.seed() + chunk * CHUNK_SEED_STEP);
+                chunks.add(executor.submit(() -> {
+                    copy("COPY reviews (id, user_id, teacher_id, subject_id, date, grade, comment) FROM STDIN",
+                            chunkFrom, chunkTo, (id, row) -> {
+                                int teacherId = teachers.sample(chunkRandom);
+                                row.number(id)
+                                        .tab().number(users.sample(chunkRandom))
+                                        .tab().number(teacherId)
+                                        .tab().number(teacherSubject(teacherId, chunkRandom.nextInt(perTeacher),
+                                                settings.subjects()))
+                                        .tab().bytes(REVIEW_DATES[chunkRandom.nextInt(REVIEW_DATES.length)])
+                                        .tab().number(grade(teacherId, chunkRandom))
+                                        .tab();
+                                appendComment(row, chunkRandom, commentLimit);
+                            });
+                    return null;
+                }));
+            }
+            for (Future<Void> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Review generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Review generation was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = Math.max(1, elapsedMillis(started)) / 1000.0;
+        log.info("Copied {} reviews in {} ms ({} rows/s, parallelism {})", settings.reviews(), elapsedMillis(started),
+                Math.round(settings.reviews() / seconds), settings.parallelism());
+    }
+
+    // Строки с номерами [from, to)
+    private void copy(String sql, long from, long to, RowWriter writer) throws SQLException {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            execute(connection, "SET synchronous_commit = off");
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            CopyIn copyIn = copyManager.copyIn(sql);
+            try {
+                CopyRowBuffer row = new CopyRowBuffer(copyIn);
+                for (long index = from; index < to; index++) {
+                    writer.write(index, row);
+                    row.endRow();
+                }
+                row.flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+        log.debug("{}: {} rows in {} ms", sql, to - from, elapsedMillis(started));
+    }
+
+    private static int subjectsPerTeacher(DataGeneratorSettings settings) {
+        return Math.min(settings.subjectsPerTeacher(), settings.subjects());
+    }
+
+    // Слоты одного преподавателя - подряд идущие предметы начиная со своего смещения, поэтому при
+    // subjectsPerTeacher <= subjects пары (teacher, subject) не повторяются
+    static long teacherSubject(long teacherId, long slot, int subjects) {
+        return (teacherId * 7 % subjects + slot) % subjects + 1;
+    }
+
+    // У каждого преподавателя свой средний балл, отдельные оценки разбросаны вокруг него
+    private static int grade(int teacherId, SplittableRandom random) {
+        double mean = 4 + (teacherId * 2_654_435_761L >>> 8) % 500 / 100.0;
+        long grade = Math.round(mean + random.nextGaussian() * 1.5);
+        return (int) Math.max(1, Math.min(10, grade));
+    }
+
+    private static void appendComment(CopyRowBuffer row, SplittableRandom random, int limit) {
+        if (random.nextInt(100) < NO_COMMENT_PERCENT) {
+            row.nullValue();
+            return;
+        }
+        long target = Math.round(Math.exp(COMMENT_LOG_MEDIAN + COMMENT_LOG_SIGMA * random.nextGaussian()));
+        int length = 0;
+        do {
+            int word = random.nextInt(COMMENT_WORDS.length);
+            int added = length == 0 ? COMMENT_WORD_LENGTHS[word] : COMMENT_WORD_LENGTHS[word] + 1;
+            if (length + added > limit) {
+                return;
+            }
+            if (length > 0) {
+                row.space();
+            }
+            row.bytes(COMMENT_WORDS[word]);
+            length += added;
+        } while (length < target);
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    private static byte[][] utf8(String... words) {
+        byte[][] result = new byte[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+    private static int[] charLengths(byte[][] words) {
+        int[] result = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = new String(words[i], StandardCharsets.UTF_8).length();
+        }
+        return result;
+    }
+
+    private static byte[][] reviewDates() {
+        byte[][] dates = new byte[REVIEW_DATE_RANGE_DAYS][];
+        for (int day = 0; day < REVIEW_DATE_RANGE_DAYS; day++) {
+            dates[day] = FIRST_REVIEW_DATE.plusDays(day).toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return dates;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, CopyRowBuffer row);
+    }
+}
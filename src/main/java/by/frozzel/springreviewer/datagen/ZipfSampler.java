@@ -0,0 +1,42 @@
+package by.frozzel.springreviewer.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Выбор идентификатора с вероятностью, пропорциональной 1 / rank^exponent. Ранги перемешаны,
+// чтобы самые "популярные" записи не были подряд идущими id 1, 2, 3...; exponent = 0 - равномерное распределение
+final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] idsByRank;
+
+    ZipfSampler(int size, double exponent, SplittableRandom random) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += Math.pow(rank + 1, -exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        idsByRank = new int[size];
+        for (int i = 0; i < size; i++) {
+            idsByRank[i] = i + 1;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = idsByRank[i];
+            idsByRank[i] = idsByRank[j];
+            idsByRank[j] = swap;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return idsByRank[Math.min(rank, idsByRank.length - 1)];
+    }
+}
@@ -0,0 +1,22 @@
+package by.frozzel.springreviewer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AllocationMetricsDto {
+    private String method;
+    private String pattern;
+    private long requests;
+    private long allocatedBytesTotal;
+    private double allocatedBytesMean;
+    private long allocatedBytesP50;
+    private long allocatedBytesP99;
+    private long allocatedBytesMax;
+    private double cpuTimeMsTotal;
+    private double cpuTimeMsMean;
+    private double cpuTimeMsP99;
+}
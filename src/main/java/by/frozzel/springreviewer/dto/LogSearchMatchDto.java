@@ -0,0 +1,15 @@
+package by.frozzel.springreviewer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogSearchMatchDto {
+    private String file;
+    private long offset;
+    private String timestamp;
+    private String line;
+}
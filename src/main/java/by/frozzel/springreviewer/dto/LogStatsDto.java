@@ -0,0 +1,29 @@
+package by.frozzel.springreviewer.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogStatsDto {
+    private LocalDate from;
+    private LocalDate to;
+    private long totalRecords;
+    private Map<String, Long> byLevel;
+    private Map<String, Long> byLogger;
+    private Map<String, Long> perMinute;
+    private List<ExceptionCount> topExceptions;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ExceptionCount {
+        private String type;
+        private long count;
+    }
+}
@@ -0,0 +1,20 @@
+package by.frozzel.springreviewer.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedReviewDto {
+    private Integer id;
+    private Integer authorId;
+    private String author;
+    private Integer teacherId;
+    private Integer subjectId;
+    private LocalDate date;
+    private Integer grade;
+    private String comment;
+}
@@ -0,0 +1,17 @@
+package by.frozzel.springreviewer.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Список отзывов, где каждый преподаватель и предмет записан один раз, а отзывы ссылаются на них по id
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedReviewsDto {
+    private List<NormalizedReviewDto> reviews;
+    private Map<Integer, NormalizedTeacherDto> teachers;
+    private Map<Integer, NormalizedSubjectDto> subjects;
+}
@@ -0,0 +1,13 @@
+package by.frozzel.springreviewer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedSubjectDto {
+    private Integer id;
+    private String name;
+}
@@ -0,0 +1,17 @@
+package by.frozzel.springreviewer.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedTeacherDto {
+    private Integer id;
+    private String surname;
+    private String name;
+    private String patronym;
+    private List<Integer> subjectIds;
+}
@@ -0,0 +1,25 @@
+package by.frozzel.springreviewer.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteMetricsDto {
+    private String method;
+    private String pattern;
+    // Запросы с момента запуска приложения: по ним же считаются задержки
+    private long count;
+    private Map<String, Long> statusCounts;
+    // Вместе с количеством, сохранённым в route_visits до запуска
+    private long allTimeCount;
+    private Map<String, Long> allTimeStatusCounts;
+    private double meanMs;
+    private double p50Ms;
+    private double p95Ms;
+    private double p99Ms;
+    private double maxMs;
+}
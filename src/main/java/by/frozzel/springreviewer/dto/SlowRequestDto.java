@@ -0,0 +1,22 @@
+package by.frozzel.springreviewer.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlowRequestDto {
+    private Instant timestamp;
+    private String method;
+    private String pattern;
+    private String uri;
+    private Map<String, String> parameters;
+    private int status;
+    private double durationMs;
+    private int sqlStatements;
+    private double sqlTimeMs;
+}
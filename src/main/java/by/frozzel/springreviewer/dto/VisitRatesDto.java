@@ -0,0 +1,34 @@
+package by.frozzel.springreviewer.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VisitRatesDto {
+    private Map<String, Rate> total;
+    private List<RouteRates> routes;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RouteRates {
+        private String method;
+        private String pattern;
+        private Map<String, Rate> rates;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rate {
+        private long requests;
+        private double requestsPerSecond;
+        private double errorsPerSecond;
+        private double errorRate;
+    }
+}
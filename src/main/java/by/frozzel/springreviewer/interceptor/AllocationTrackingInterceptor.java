@@ -0,0 +1,94 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.metrics.AllocationMetricsRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Счётчики ThreadMXBean относятся к потоку, поэтому замер идёт по каждой диспетчеризации в контейнере;
+// работа в пулах асинхронных задач (StreamingResponseBody, @Async) в запрос не попадает
+@Component
+@ConditionalOnProperty(name = "metrics.allocations.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AllocationTrackingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = AllocationTrackingInterceptor.class.getName() + ".sample";
+
+    private final AllocationMetricsRegistry allocationMetricsRegistry;
+    private final com.sun.management.ThreadMXBean threadMxBean;
+
+    public AllocationTrackingInterceptor(AllocationMetricsRegistry allocationMetricsRegistry) {
+        this.allocationMetricsRegistry = allocationMetricsRegistry;
+        this.threadMxBean = resolveThreadMxBean();
+    }
+
+    private static com.sun.management.ThreadMXBean resolveThreadMxBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isCurrentThreadCpuTimeSupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            if (!bean.isThreadCpuTimeEnabled()) {
+                bean.setThreadCpuTimeEnabled(true);
+            }
+            return bean;
+        }
+        log.warn("Per-thread allocation or CPU time accounting is not supported by this JVM; "
+                + "request allocation metrics are disabled");
+        return null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (threadMxBean == null) {
+            return true;
+        }
+        Sample sample = request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Sample existing ? existing : new Sample();
+        sample.startDispatch(threadMxBean);
+        request.setAttribute(SAMPLE_ATTRIBUTE, sample);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Sample sample) {
+            sample.endDispatch(threadMxBean);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Sample sample)) {
+            return;
+        }
+        sample.endDispatch(threadMxBean);
+        Object patternAttribute = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (patternAttribute instanceof String pattern && !pattern.isBlank()) {
+            allocationMetricsRegistry.record(request.getMethod(), pattern, sample.allocatedBytes, sample.cpuNanos);
+        }
+    }
+
+    private static final class Sample {
+        private long dispatchStartBytes;
+        private long dispatchStartCpuNanos;
+        private long allocatedBytes;
+        private long cpuNanos;
+
+        private void startDispatch(com.sun.management.ThreadMXBean bean) {
+            dispatchStartBytes = bean.getCurrentThreadAllocatedBytes();
+            dispatchStartCpuNanos = bean.getCurrentThreadCpuTime();
+        }
+
+        private void endDispatch(com.sun.management.ThreadMXBean bean) {
+            allocatedBytes += Math.max(0, bean.getCurrentThreadAllocatedBytes() - dispatchStartBytes);
+            cpuNanos += Math.max(0, bean.getCurrentThreadCpuTime() - dispatchStartCpuNanos);
+        }
+    }
+}
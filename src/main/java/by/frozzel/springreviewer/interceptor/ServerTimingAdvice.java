@@ -0,0 +1,45 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.metrics.RequestTimingTracker;
+import by.frozzel.springreviewer.metrics.SqlStatementTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Время обработчика, JDBC и мапперов фиксируется перед записью тела;
+// время сериализации JSON ServerTimingJacksonConverter отправляет в трейлере после тела
+@ControllerAdvice
+@ConditionalOnProperty(name = "metrics.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimingTracker.RequestTimings timings = RequestTimingTracker.current();
+        if (timings == null) {
+            return body;
+        }
+        SqlStatementTracker.SqlStats sqlStats = SqlStatementTracker.current();
+        long jdbcNanos = sqlStats != null ? sqlStats.getJdbcNanos() : 0;
+
+        StringBuilder header = new StringBuilder(96);
+        RequestTimingTracker.appendMetric(header, "app", "Handler", System.nanoTime() - timings.getStartNanos());
+        header.append(", ");
+        RequestTimingTracker.appendMetric(header, "db", "JDBC", jdbcNanos);
+        header.append(", ");
+        RequestTimingTracker.appendMetric(header, "mapper", "Mappers", timings.getMapperNanos());
+        response.getHeaders().add(RequestTimingTracker.SERVER_TIMING_HEADER, header.toString());
+        return body;
+    }
+}
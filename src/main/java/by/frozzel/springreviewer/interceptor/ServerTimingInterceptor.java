@@ -0,0 +1,37 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.metrics.RequestTimingTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Component
+@ConditionalOnProperty(name = "metrics.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingInterceptor.class.getName() + ".timings";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(TIMINGS_ATTRIBUTE) instanceof RequestTimingTracker.RequestTimings timings) {
+            RequestTimingTracker.attach(timings);
+        } else {
+            request.setAttribute(TIMINGS_ATTRIBUTE, RequestTimingTracker.begin());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestTimingTracker.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTimingTracker.end();
+    }
+}
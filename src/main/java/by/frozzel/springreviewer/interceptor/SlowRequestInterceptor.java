@@ -0,0 +1,83 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.dto.SlowRequestDto;
+import by.frozzel.springreviewer.metrics.SlowRequestBuffer;
+import by.frozzel.springreviewer.metrics.SqlStatementTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+@Slf4j
+public class SlowRequestInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME_ATTRIBUTE = SlowRequestInterceptor.class.getName() + ".startTime";
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SlowRequestBuffer slowRequestBuffer;
+    private final long thresholdNanos;
+
+    public SlowRequestInterceptor(SlowRequestBuffer slowRequestBuffer,
+                                  @Value("${metrics.slow-requests.threshold-ms:1000}") long thresholdMs) {
+        this.slowRequestBuffer = slowRequestBuffer;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_TIME_ATTRIBUTE) == null) {
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        // Статистику SQL ведёт SqlStatementInterceptor; его afterCompletion вызывается после нашего
+        SqlStatementTracker.SqlStats stats = request.getAttribute(SqlStatementInterceptor.SQL_STATS_ATTRIBUTE)
+                instanceof SqlStatementTracker.SqlStats sqlStats ? sqlStats : null;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SlowRequestDto slowRequest = new SlowRequestDto(
+                Instant.now(),
+                request.getMethod(),
+                pattern instanceof String value ? value : null,
+                request.getRequestURI(),
+                collectParameters(request),
+                response.getStatus(),
+                elapsedNanos / NANOS_PER_MILLI,
+                stats != null ? stats.getStatementCount() : 0,
+                stats != null ? stats.getJdbcNanos() / NANOS_PER_MILLI : 0);
+        slowRequestBuffer.add(slowRequest);
+        log.debug("Captured slow request {} {} ({} ms, {} SQL statements)", slowRequest.getMethod(),
+                slowRequest.getUri(), slowRequest.getDurationMs(), slowRequest.getSqlStatements());
+    }
+
+    private static Map<String, String> collectParameters(HttpServletRequest request) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        request.getParameterMap().forEach((name, values) -> {
+            String value = String.join(",", values);
+            parameters.put(name, value.length() > MAX_PARAMETER_LENGTH
+                    ? value.substring(0, MAX_PARAMETER_LENGTH) + "..."
+                    : value);
+        });
+        return parameters;
+    }
+}
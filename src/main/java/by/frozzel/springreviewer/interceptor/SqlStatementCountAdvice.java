@@ -0,0 +1,35 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.metrics.SqlStatementTracker;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Заголовок пишется до сериализации тела, пока ответ ещё не отправлен; в prod не раскрываем внутренние детали
+@ControllerAdvice
+@Profile("!prod")
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SQL_STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementTracker.SqlStats stats = SqlStatementTracker.current();
+        if (stats != null) {
+            response.getHeaders().set(SQL_STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatementCount()));
+        }
+        return body;
+    }
+}
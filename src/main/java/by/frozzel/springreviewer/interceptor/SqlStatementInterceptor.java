@@ -0,0 +1,66 @@
+package by.frozzel.springreviewer.interceptor;
+
+import by.frozzel.springreviewer.metrics.SqlStatementTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Component
+@Slf4j
+public class SqlStatementInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String SQL_STATS_ATTRIBUTE = SqlStatementInterceptor.class.getName() + ".sqlStats";
+    private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+
+    private final int statementWarnThreshold;
+    private final int repeatedShapeWarnThreshold;
+
+    public SqlStatementInterceptor(
+            @Value("${metrics.sql.statement-warn-threshold:20}") int statementWarnThreshold,
+            @Value("${metrics.sql.repeated-statement-warn-threshold:5}") int repeatedShapeWarnThreshold) {
+        this.statementWarnThreshold = statementWarnThreshold;
+        this.repeatedShapeWarnThreshold = repeatedShapeWarnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SQL_STATS_ATTRIBUTE) instanceof SqlStatementTracker.SqlStats stats) {
+            // Асинхронный запрос вернулся в контейнер: продолжаем считать SQL в ту же статистику
+            SqlStatementTracker.attach(stats);
+        } else {
+            request.setAttribute(SQL_STATS_ATTRIBUTE, SqlStatementTracker.begin());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        SqlStatementTracker.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatementTracker.SqlStats stats = SqlStatementTracker.end();
+        if (stats == null) {
+            return;
+        }
+        if (stats.getStatementCount() > statementWarnThreshold) {
+            log.warn("Request {} {} executed {} SQL statements (threshold {})", request.getMethod(),
+                    request.getRequestURI(), stats.getStatementCount(), statementWarnThreshold);
+        }
+        for (Map.Entry<String, Integer> shape : stats.getRepeatedShapes(repeatedShapeWarnThreshold).entrySet()) {
+            log.warn("Possible N+1 in {} {}: statement executed {} times: {}", request.getMethod(),
+                    request.getRequestURI(), shape.getValue(), truncate(shape.getKey()));
+        }
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() > MAX_LOGGED_SHAPE_LENGTH ? sql.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "..." : sql;
+    }
+}
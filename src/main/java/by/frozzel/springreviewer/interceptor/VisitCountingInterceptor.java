@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
@@ -14,20 +15,34 @@ import org.springframework.web.servlet.HandlerMapping;
 @Slf4j
 public class VisitCountingInterceptor implements HandlerInterceptor {
 
+    private static final String START_TIME_ATTRIBUTE = VisitCountingInterceptor.class.getName() + ".startTime";
+
     private final VisitCounterService visitCounterService;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // При асинхронной обработке preHandle вызывается повторно: сохраняем время первого входа
+        if (request.getAttribute(START_TIME_ATTRIBUTE) == null) {
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
 
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
         Object patternAttribute = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object startAttribute = request.getAttribute(START_TIME_ATTRIBUTE);
 
-        if (patternAttribute instanceof String pattern && !pattern.isBlank()) {
-            visitCounterService.incrementVisit(pattern);
-            log.trace("Incremented visit count for URL pattern [{}]: {}", request.getMethod(), pattern);
+        if (patternAttribute instanceof String pattern && !pattern.isBlank() && startAttribute instanceof Long start) {
+            int status = response.getStatus();
+            if (ex != null && status < HttpStatus.BAD_REQUEST.value()) {
+                status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+            }
+            visitCounterService.recordRequest(request.getMethod(), pattern, status, System.nanoTime() - start);
+            log.trace("Recorded visit for URL pattern [{}] {} with status {}", request.getMethod(), pattern, status);
         } else {
             log.trace("Could not determine URL pattern for request: {} {}", request.getMethod(), request.getRequestURI());
         }
-
-        return true;
     }
-}
\ No newline at end of file
+}
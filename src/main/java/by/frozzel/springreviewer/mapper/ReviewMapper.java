@@ -1,5 +1,9 @@
 package by.frozzel.springreviewer.mapper;
 
+import by.frozzel.springreviewer.dto.NormalizedReviewDto;
+import by.frozzel.springreviewer.dto.NormalizedReviewsDto;
+import by.frozzel.springreviewer.dto.NormalizedSubjectDto;
+import by.frozzel.springreviewer.dto.NormalizedTeacherDto;
 import by.frozzel.springreviewer.dto.ReviewCreateDto;
 import by.frozzel.springreviewer.dto.ReviewDisplayDto;
 import by.frozzel.springreviewer.dto.TeacherDisplayDto;
@@ -11,6 +15,11 @@ import by.frozzel.springreviewer.model.User;
 import by.frozzel.springreviewer.repository.SubjectRepository;
 import by.frozzel.springreviewer.repository.TeacherRepository;
 import by.frozzel.springreviewer.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -71,4 +80,45 @@ public class ReviewMapper {
                 review.getComment()
         );
     }
-}
\ No newline at end of file
+
+    // Каждый преподаватель и предмет отображается один раз, сколько бы отзывов на него ни ссылалось
+    public NormalizedReviewsDto toNormalizedDto(List<Review> reviews) {
+        List<NormalizedReviewDto> reviewDtos = new ArrayList<>(reviews.size());
+        Map<Integer, NormalizedTeacherDto> teachers = new LinkedHashMap<>();
+        Map<Integer, NormalizedSubjectDto> subjects = new LinkedHashMap<>();
+
+        for (Review review : reviews) {
+            Teacher teacher = review.getTeacher();
+            Subject subject = review.getSubject();
+            User user = review.getUser();
+
+            if (teacher != null && !teachers.containsKey(teacher.getId())) {
+                teachers.put(teacher.getId(), teacherMapper.toNormalizedDto(teacher));
+                if (teacher.getSubjects() != null) {
+                    teacher.getSubjects().stream()
+                            .filter(Objects::nonNull)
+                            .forEach(teacherSubject -> addSubject(subjects, teacherSubject));
+                }
+            }
+            if (subject != null) {
+                addSubject(subjects, subject);
+            }
+
+            reviewDtos.add(new NormalizedReviewDto(
+                    review.getId(),
+                    (user != null) ? user.getId() : null,
+                    (user != null) ? user.getUsername() : null,
+                    (teacher != null) ? teacher.getId() : null,
+                    (subject != null) ? subject.getId() : null,
+                    review.getDate(),
+                    review.getGrade(),
+                    review.getComment()
+            ));
+        }
+        return new NormalizedReviewsDto(reviewDtos, teachers, subjects);
+    }
+
+    private static void addSubject(Map<Integer, NormalizedSubjectDto> subjects, Subject subject) {
+        subjects.computeIfAbsent(subject.getId(), id -> new NormalizedSubjectDto(id, subject.getName()));
+    }
+}
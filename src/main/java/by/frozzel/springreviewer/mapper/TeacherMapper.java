@@ -1,6 +1,7 @@
 package by.frozzel.springreviewer.mapper;
 
 import by.frozzel.springreviewer.dto.TeacherCreateDto;
+import by.frozzel.springreviewer.dto.NormalizedTeacherDto;
 import by.frozzel.springreviewer.dto.TeacherDisplayDto;
 import by.frozzel.springreviewer.model.Subject;
 import by.frozzel.springreviewer.model.Teacher;
@@ -44,4 +45,22 @@ public class TeacherMapper {
                 .subjects(subjectNames)
                 .build();
     }
-}
\ No newline at end of file
+
+    // Предметы передаются только идентификаторами: сами предметы выводятся отдельно, по одному разу
+    public NormalizedTeacherDto toNormalizedDto(Teacher teacher) {
+        List<Integer> subjectIds = (teacher.getSubjects() != null)
+                ? teacher.getSubjects().stream()
+                .filter(Objects::nonNull)
+                .map(Subject::getId)
+                .toList()
+                : Collections.emptyList();
+
+        return new NormalizedTeacherDto(
+                teacher.getId(),
+                teacher.getSurname(),
+                teacher.getName(),
+                teacher.getPatronym(),
+                subjectIds
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package by.frozzel.springreviewer.metrics;
+
+import by.frozzel.springreviewer.dto.AllocationMetricsDto;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+// Выделенная память и процессорное время на запрос по тем же ключам, что и VisitCounterService:
+// URL-паттерн -> HTTP-метод
+@Component
+public class AllocationMetricsRegistry {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Map<String, RouteAllocations>> routes = new ConcurrentHashMap<>();
+
+    public void record(String method, String pattern, long allocatedBytes, long cpuNanos) {
+        RouteAllocations allocations = routes
+                .computeIfAbsent(pattern, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new RouteAllocations(method, pattern));
+        allocations.allocatedBytes.record(allocatedBytes);
+        allocations.cpuMicros.record(TimeUnit.NANOSECONDS.toMicros(cpuNanos));
+    }
+
+    // Сначала маршруты, выделяющие больше всего памяти суммарно - главные источники нагрузки на GC
+    public List<AllocationMetricsDto> getAllocations() {
+        List<AllocationMetricsDto> result = new ArrayList<>();
+        routes.values().forEach(byMethod -> byMethod.values().forEach(allocations -> result.add(toDto(allocations))));
+        result.sort(Comparator.comparingLong(AllocationMetricsDto::getAllocatedBytesTotal).reversed());
+        return result;
+    }
+
+    private static AllocationMetricsDto toDto(RouteAllocations allocations) {
+        LatencyHistogram.Snapshot bytes = allocations.allocatedBytes.snapshot();
+        LatencyHistogram.Snapshot cpu = allocations.cpuMicros.snapshot();
+        return new AllocationMetricsDto(
+                allocations.method,
+                allocations.pattern,
+                bytes.getCount(),
+                allocations.allocatedBytes.getSum(),
+                bytes.getMean(),
+                bytes.percentile(50),
+                bytes.percentile(99),
+                bytes.getMax(),
+                allocations.cpuMicros.getSum() / MICROS_PER_MILLI,
+                cpu.getMean() / MICROS_PER_MILLI,
+                cpu.percentile(99) / MICROS_PER_MILLI);
+    }
+
+    private static final class RouteAllocations {
+        private final String method;
+        private final String pattern;
+        // Гистограмма значений общего вида: здесь хранятся байты и микросекунды CPU, а не задержки
+        private final LatencyHistogram allocatedBytes = new LatencyHistogram();
+        private final LatencyHistogram cpuMicros = new LatencyHistogram();
+
+        private RouteAllocations(String method, String pattern) {
+            this.method = method;
+            this.pattern = pattern;
+        }
+    }
+}
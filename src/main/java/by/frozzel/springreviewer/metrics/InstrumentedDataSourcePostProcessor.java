@@ -0,0 +1,119 @@
+package by.frozzel.springreviewer.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+// Оборачивает DataSource так, чтобы в рамках HTTP-запроса замерялось выполнение каждого JDBC-запроса.
+// Доступ к самому пулу (например, HikariDataSource) - через DataSource.unwrap
+@Component
+@ConditionalOnProperty(name = "metrics.sql.instrumentation-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final ClassLoader CLASS_LOADER = InstrumentedDataSourcePostProcessor.class.getClassLoader();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            log.info("Instrumenting DataSource bean '{}' for per-request SQL statistics", beanName);
+            return new InstrumentedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type}, new JdbcHandler(target, sql)));
+    }
+
+    // Обычный класс, а не динамический прокси: он остаётся AutoCloseable, и Spring закрывает пул при остановке
+    static final class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private InstrumentedDataSource(DataSource target) {
+            super(target);
+        }
+
+        // Вне запроса (планировщик, фоновые задачи) соединение отдаётся без прокси и без затрат на рефлексию
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return SqlStatementTracker.current() != null ? proxy(Connection.class, connection, null) : connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = super.getConnection(username, password);
+            return SqlStatementTracker.current() != null ? proxy(Connection.class, connection, null) : connection;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class JdbcHandler implements InvocationHandler {
+        private final Object target;
+        // Текст SQL, с которым был подготовлен PreparedStatement/CallableStatement
+        private final String sql;
+
+        private JdbcHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            boolean execute = target instanceof Statement && name.startsWith("execute");
+            String sqlArgument = args != null && args.length > 0 && args[0] instanceof String value ? value : null;
+            long start = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execute) {
+                    SqlStatementTracker.record(sqlArgument != null ? sqlArgument : sql, System.nanoTime() - start);
+                }
+            }
+            // unwrap должен вернуть сам драйверный объект (например, PGConnection для COPY), а не новый прокси
+            if ("unwrap".equals(name)) {
+                return result;
+            }
+            return wrapResult(result, target instanceof Connection ? sqlArgument : null);
+        }
+
+        private static Object wrapResult(Object result, String preparedSql) {
+            // Порядок проверок важен: CallableStatement наследует PreparedStatement, тот - Statement
+            if (result instanceof Connection connection) {
+                return proxy(Connection.class, connection, null);
+            }
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, preparedSql);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, preparedSql);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, null);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package by.frozzel.springreviewer.metrics;
+
+import by.frozzel.springreviewer.dto.MethodLatencyDto;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.springframework.stereotype.Component;
+
+// Лежит вне пакетов service/controller, чтобы LoggingAspect не перехватывал собственную запись метрик
+@Component
+public class MethodMetricsRegistry {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    public void record(Method method, long elapsedNanos) {
+        timers.computeIfAbsent(method, MethodTimer::new)
+                .histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    public List<MethodLatencyDto> getMethodLatencies() {
+        return timers.values().stream()
+                .map(MethodMetricsRegistry::toDto)
+                .sorted(Comparator.comparingDouble(MethodLatencyDto::getP99Ms).reversed())
+                .toList();
+    }
+
+    public void forEachMethod(BiConsumer<String, LatencyHistogram> visitor) {
+        timers.values().forEach(timer -> visitor.accept(timer.name, timer.histogram));
+    }
+
+    private static MethodLatencyDto toDto(MethodTimer timer) {
+        LatencyHistogram.Snapshot snapshot = timer.histogram.snapshot();
+        return new MethodLatencyDto(
+                timer.name,
+                snapshot.getCount(),
+                snapshot.getMean() / MICROS_PER_MILLI,
+                snapshot.percentile(50) / MICROS_PER_MILLI,
+                snapshot.percentile(95) / MICROS_PER_MILLI,
+                snapshot.percentile(99) / MICROS_PER_MILLI,
+                snapshot.getMax() / MICROS_PER_MILLI);
+    }
+
+    private static final class MethodTimer {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private MethodTimer(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package by.frozzel.springreviewer.metrics;
+
+import by.frozzel.springreviewer.config.AsyncConfig;
+import by.frozzel.springreviewer.config.LruCache;
+import by.frozzel.springreviewer.service.VisitCounterService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+// Текстовый формат экспозиции Prometheus 0.0.4. Ответ собирается в одном переиспользуемом буфере
+// прямым обходом живых счётчиков, без промежуточных карт и DTO
+@Component
+public class PrometheusMetricsExporter {
+
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final double[] QUANTILES = {50, 95, 99};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.95", "0.99"};
+    private static final int INITIAL_BUFFER_CAPACITY = 32 * 1024;
+
+    private final VisitCounterService visitCounterService;
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final LruCache<String, Object> lruCache;
+    private final Executor logGenerationExecutor;
+    private final Executor logExtractionExecutor;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    // Доступ к буферу только внутри synchronized scrape()
+    private final StringBuilder buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+    private final long[] quantileValues = new long[QUANTILES.length];
+
+    public PrometheusMetricsExporter(VisitCounterService visitCounterService,
+                                     MethodMetricsRegistry methodMetricsRegistry,
+                                     LruCache<String, Object> lruCache,
+                                     @Qualifier(AsyncConfig.LOG_GENERATION_EXECUTOR) Executor logGenerationExecutor,
+                                     @Qualifier(AsyncConfig.LOG_EXTRACTION_EXECUTOR) Executor logExtractionExecutor,
+                                     ObjectProvider<DataSource> dataSourceProvider) {
+        this.visitCounterService = visitCounterService;
+        this.methodMetricsRegistry = methodMetricsRegistry;
+        this.lruCache = lruCache;
+        this.logGenerationExecutor = logGenerationExecutor;
+        this.logExtractionExecutor = logExtractionExecutor;
+        this.dataSourceProvider = dataSourceProvider;
+    }
+
+    public synchronized String scrape() {
+        buffer.setLength(0);
+        appendHttpMetrics();
+        appendMethodMetrics();
+        appendCacheMetrics();
+        appendExecutorMetrics();
+        appendHikariMetrics();
+        appendJvmMetrics();
+        return buffer.toString();
+    }
+
+    private void appendHttpMetrics() {
+        header("http_server_requests_total", "counter", "HTTP requests by method, route pattern and status class");
+        visitCounterService.forEachStatusCount((method, pattern, statusClass, count) -> {
+            buffer.append("http_server_requests_total{method=\"");
+            escape(method).append("\",pattern=\"");
+            escape(pattern).append("\",status=\"").append(statusClass).append("\"} ").append(count).append('\n');
+        });
+
+        header("http_server_request_duration_seconds", "summary", "HTTP request processing time");
+        visitCounterService.forEachRouteLatency((method, pattern, latency) -> {
+            latency.percentiles(QUANTILES, quantileValues);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                routeSample("http_server_request_duration_seconds", method, pattern)
+                        .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                        .append(quantileValues[i] / MICROS_PER_SECOND).append('\n');
+            }
+            routeSample("http_server_request_duration_seconds_sum", method, pattern)
+                    .append("} ").append(latency.getSum() / MICROS_PER_SECOND).append('\n');
+            routeSample("http_server_request_duration_seconds_count", method, pattern)
+                    .append("} ").append(latency.getCount()).append('\n');
+        });
+
+        header("http_server_request_duration_seconds_max", "gauge", "Longest HTTP request processing time");
+        visitCounterService.forEachRouteLatency((method, pattern, latency) ->
+                routeSample("http_server_request_duration_seconds_max", method, pattern)
+                        .append("} ").append(latency.getMax() / MICROS_PER_SECOND).append('\n'));
+    }
+
+    private StringBuilder routeSample(String name, String method, String pattern) {
+        buffer.append(name).append("{method=\"");
+        escape(method).append("\",pattern=\"");
+        return escape(pattern).append('"');
+    }
+
+    private void appendMethodMetrics() {
+        header("app_method_duration_seconds", "summary", "Controller and service method execution time");
+        methodMetricsRegistry.forEachMethod((name, latency) -> {
+            latency.percentiles(QUANTILES, quantileValues);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                buffer.append("app_method_duration_seconds{method=\"");
+                escape(name).append("\",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                        .append(quantileValues[i] / MICROS_PER_SECOND).append('\n');
+            }
+            buffer.append("app_method_duration_seconds_sum{method=\"");
+            escape(name).append("\"} ").append(latency.getSum() / MICROS_PER_SECOND).append('\n');
+            buffer.append("app_method_duration_seconds_count{method=\"");
+            escape(name).append("\"} ").append(latency.getCount()).append('\n');
+        });
+    }
+
+    private void appendCacheMetrics() {
+        header("lru_cache_hits_total", "counter", "LRU cache hits");
+        sample("lru_cache_hits_total", "cache", "lruCache", lruCache.getHitCount());
+        header("lru_cache_misses_total", "counter", "LRU cache misses");
+        sample("lru_cache_misses_total", "cache", "lruCache", lruCache.getMissCount());
+        header("lru_cache_evictions_total", "counter", "LRU cache evictions");
+        sample("lru_cache_evictions_total", "cache", "lruCache", lruCache.getEvictionCount());
+        header("lru_cache_size", "gauge", "Current number of LRU cache entries");
+        sample("lru_cache_size", "cache", "lruCache", lruCache.size());
+        header("lru_cache_max_size", "gauge", "LRU cache capacity");
+        sample("lru_cache_max_size", "cache", "lruCache", lruCache.getMaxSize());
+    }
+
+    private void appendExecutorMetrics() {
+        header("executor_queued_tasks", "gauge", "Tasks waiting in the executor queue");
+        executorSample("executor_queued_tasks", AsyncConfig.LOG_GENERATION_EXECUTOR, logGenerationExecutor,
+                ThreadPoolTaskExecutor::getQueueSize);
+        executorSample("executor_queued_tasks", AsyncConfig.LOG_EXTRACTION_EXECUTOR, logExtractionExecutor,
+                ThreadPoolTaskExecutor::getQueueSize);
+        header("executor_active_threads", "gauge", "Threads actively executing tasks");
+        executorSample("executor_active_threads", AsyncConfig.LOG_GENERATION_EXECUTOR, logGenerationExecutor,
+                ThreadPoolTaskExecutor::getActiveCount);
+        executorSample("executor_active_threads", AsyncConfig.LOG_EXTRACTION_EXECUTOR, logExtractionExecutor,
+                ThreadPoolTaskExecutor::getActiveCount);
+        header("executor_pool_size_threads", "gauge", "Current number of threads in the pool");
+        executorSample("executor_pool_size_threads", AsyncConfig.LOG_GENERATION_EXECUTOR, logGenerationExecutor,
+                ThreadPoolTaskExecutor::getPoolSize);
+        executorSample("executor_pool_size_threads", AsyncConfig.LOG_EXTRACTION_EXECUTOR, logExtractionExecutor,
+                ThreadPoolTaskExecutor::getPoolSize);
+    }
+
+    private void executorSample(String name, String executorName, Executor executor, ExecutorGauge gauge) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            sample(name, "name", executorName, gauge.read(pool));
+        }
+    }
+
+    private void appendHikariMetrics() {
+        HikariDataSource hikari = unwrapHikari(dataSourceProvider.getIfAvailable());
+        if (hikari == null) {
+            return;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            // Пул создаётся лениво при первом подключении
+            return;
+        }
+        String poolName = hikari.getPoolName();
+        header("hikaricp_connections_active", "gauge", "Connections in use");
+        sample("hikaricp_connections_active", "pool", poolName, pool.getActiveConnections());
+        header("hikaricp_connections_idle", "gauge", "Idle connections");
+        sample("hikaricp_connections_idle", "pool", poolName, pool.getIdleConnections());
+        header("hikaricp_connections", "gauge", "Total connections");
+        sample("hikaricp_connections", "pool", poolName, pool.getTotalConnections());
+        header("hikaricp_connections_pending", "gauge", "Threads waiting for a connection");
+        sample("hikaricp_connections_pending", "pool", poolName, pool.getThreadsAwaitingConnection());
+        header("hikaricp_connections_max", "gauge", "Maximum pool size");
+        sample("hikaricp_connections_max", "pool", poolName, hikari.getMaximumPoolSize());
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            // DataSource может быть обёрнут прокси инструментирования SQL
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private void appendJvmMetrics() {
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memoryBean.getNonHeapMemoryUsage();
+        header("jvm_memory_used_bytes", "gauge", "Used JVM memory");
+        sample("jvm_memory_used_bytes", "area", "heap", heap.getUsed());
+        sample("jvm_memory_used_bytes", "area", "nonheap", nonHeap.getUsed());
+        header("jvm_memory_committed_bytes", "gauge", "Committed JVM memory");
+        sample("jvm_memory_committed_bytes", "area", "heap", heap.getCommitted());
+        sample("jvm_memory_committed_bytes", "area", "nonheap", nonHeap.getCommitted());
+        header("jvm_memory_max_bytes", "gauge", "Maximum JVM memory, -1 if undefined");
+        sample("jvm_memory_max_bytes", "area", "heap", heap.getMax());
+        sample("jvm_memory_max_bytes", "area", "nonheap", nonHeap.getMax());
+
+        header("jvm_gc_collections_total", "counter", "Garbage collections by collector");
+        for (GarbageCollectorMXBean gc : garbageCollectors) {
+            sample("jvm_gc_collections_total", "gc", gc.getName(), Math.max(0, gc.getCollectionCount()));
+        }
+        header("jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector");
+        for (GarbageCollectorMXBean gc : garbageCollectors) {
+            buffer.append("jvm_gc_collection_seconds_total{gc=\"");
+            escape(gc.getName()).append("\"} ")
+                    .append(Math.max(0, gc.getCollectionTime()) / MILLIS_PER_SECOND).append('\n');
+        }
+
+        header("jvm_threads_live", "gauge", "Live JVM threads");
+        buffer.append("jvm_threads_live ").append(threadBean.getThreadCount()).append('\n');
+    }
+
+    private void header(String name, String type, String help) {
+        buffer.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        buffer.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(String name, String label, String labelValue, long value) {
+        buffer.append(name).append('{').append(label).append("=\"");
+        escape(labelValue).append("\"} ").append(value).append('\n');
+    }
+
+    private StringBuilder escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '"' -> buffer.append("\\\"");
+                case '\n' -> buffer.append("\\n");
+                default -> buffer.append(c);
+            }
+        }
+        return buffer;
+    }
+
+    @FunctionalInterface
+    private interface ExecutorGauge {
+        int read(ThreadPoolTaskExecutor executor);
+    }
+}
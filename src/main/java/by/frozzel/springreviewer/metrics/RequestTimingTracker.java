@@ -0,0 +1,96 @@
+package by.frozzel.springreviewer.metrics;
+
+// Накопители времени текущего запроса для заголовка Server-Timing. Один объект на запрос,
+// сами замеры только прибавляют наносекунды к полям и ничего не выделяют
+public final class RequestTimingTracker {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private RequestTimingTracker() {
+    }
+
+    public static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void attach(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static RequestTimings end() {
+        RequestTimings timings = CURRENT.get();
+        CURRENT.remove();
+        return timings;
+    }
+
+    public static void appendMetric(StringBuilder header, String name, String description, long nanos) {
+        // Миллисекунды с точностью до сотых, без String.format
+        long hundredths = nanos / 10_000;
+        header.append(name).append(";desc=\"").append(description).append("\";dur=")
+                .append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+
+    public static final class RequestTimings {
+        private final long startNanos;
+        private long mapperNanos;
+        private int mapperDepth;
+        private long mapperJdbcStartNanos;
+        private long serializationNanos;
+
+        private RequestTimings(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // Мапперы вызывают друг друга (ReviewMapper -> TeacherMapper), время считаем только по внешнему вызову
+        public boolean enterMapper() {
+            if (mapperDepth++ == 0) {
+                mapperJdbcStartNanos = currentJdbcNanos();
+                return true;
+            }
+            return false;
+        }
+
+        // Ленивая загрузка внутри маппера уже учтена в db, из mapper её время вычитается
+        public void exitMapper(boolean outermost, long elapsedNanos) {
+            mapperDepth--;
+            if (outermost) {
+                long jdbcNanos = currentJdbcNanos() - mapperJdbcStartNanos;
+                mapperNanos += Math.max(0, elapsedNanos - jdbcNanos);
+            }
+        }
+
+        public void addSerializationNanos(long elapsedNanos) {
+            serializationNanos += elapsedNanos;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getMapperNanos() {
+            return mapperNanos;
+        }
+
+        public long getSerializationNanos() {
+            return serializationNanos;
+        }
+
+        private static long currentJdbcNanos() {
+            SqlStatementTracker.SqlStats sqlStats = SqlStatementTracker.current();
+            return sqlStats != null ? sqlStats.getJdbcNanos() : 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package by.frozzel.springreviewer.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+// Заменяет стандартный Jackson-конвертер Spring Boot. Время сериализации известно только после записи тела,
+// когда заголовки уже отправлены, поэтому метрика ser уходит в трейлере Server-Timing (chunked HTTP/1.1, HTTP/2).
+// Тело пишется в ответ напрямую, без промежуточного буфера
+@Component
+@ConditionalOnProperty(name = "metrics.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final String TRAILER_HEADER = "Trailer";
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimingTracker.RequestTimings timings = RequestTimingTracker.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        announceTrailer(timings, outputMessage);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        timings.addSerializationNanos(System.nanoTime() - start);
+    }
+
+    // Трейлер вычисляется контейнером после последнего байта тела, когда время сериализации уже записано
+    private static void announceTrailer(RequestTimingTracker.RequestTimings timings, HttpOutputMessage outputMessage) {
+        if (!(outputMessage instanceof ServletServerHttpResponse servletResponse)) {
+            return;
+        }
+        HttpServletResponse response = servletResponse.getServletResponse();
+        try {
+            response.setTrailerFields(() -> {
+                StringBuilder header = new StringBuilder(48);
+                RequestTimingTracker.appendMetric(header, "ser", "JSON serialization", timings.getSerializationNanos());
+                return Map.of(RequestTimingTracker.SERVER_TIMING_HEADER, header.toString());
+            });
+            outputMessage.getHeaders().add(TRAILER_HEADER, RequestTimingTracker.SERVER_TIMING_HEADER);
+        } catch (IllegalStateException e) {
+            // HTTP/1.0 или ответ уже отправлен: трейлеры недоступны, ser не сообщается
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package by.frozzel.springreviewer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Кольцо посекундных корзин за последние 16 минут. Каждая корзина - одно значение long:
+// старшие 32 бита - номер секунды, младшие - счётчик, поэтому переход корзины на новую секунду
+// и инкремент выполняются одним CAS без блокировок и без потери событий
+public class SlidingWindowCounter {
+
+    public static final int MAX_WINDOW_SECONDS = 15 * 60;
+
+    private static final int RING_SIZE = MAX_WINDOW_SECONDS + 60;
+    private static final long LOW_BITS_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray requests = new AtomicLongArray(RING_SIZE);
+    private final AtomicLongArray errors = new AtomicLongArray(RING_SIZE);
+
+    public void record(long epochSecond, boolean error) {
+        increment(requests, epochSecond);
+        if (error) {
+            increment(errors, epochSecond);
+        }
+    }
+
+    // Учитываются только завершённые секунды, чтобы неполная текущая не занижала скорость
+    public WindowCounts getCounts(long nowEpochSecond, int windowSeconds) {
+        int window = Math.min(windowSeconds, MAX_WINDOW_SECONDS);
+        long requestCount = 0;
+        long errorCount = 0;
+        for (long second = nowEpochSecond - window; second < nowEpochSecond; second++) {
+            requestCount += countAt(requests, second);
+            errorCount += countAt(errors, second);
+        }
+        return new WindowCounts(window, requestCount, errorCount);
+    }
+
+    private static void increment(AtomicLongArray buckets, long epochSecond) {
+        int index = (int) Math.floorMod(epochSecond, (long) RING_SIZE);
+        long stamp = epochSecond & LOW_BITS_MASK;
+        while (true) {
+            long current = buckets.get(index);
+            long currentStamp = current >>> 32;
+            if (current != 0 && currentStamp != stamp && (int) (stamp - currentStamp) < 0) {
+                // Запоздавшее событие старше корзины: не затираем более свежую секунду
+                return;
+            }
+            long next = currentStamp == stamp ? current + 1 : (stamp << 32) | 1;
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long countAt(AtomicLongArray buckets, long epochSecond) {
+        long value = buckets.get((int) Math.floorMod(epochSecond, (long) RING_SIZE));
+        return (value >>> 32) == (epochSecond & LOW_BITS_MASK) ? value & LOW_BITS_MASK : 0;
+    }
+
+    public record WindowCounts(int windowSeconds, long requests, long errors) {
+
+        public double requestsPerSecond() {
+            return (double) requests / windowSeconds;
+        }
+
+        public double errorsPerSecond() {
+            return (double) errors / windowSeconds;
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
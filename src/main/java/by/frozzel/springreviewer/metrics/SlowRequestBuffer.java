@@ -0,0 +1,41 @@
+package by.frozzel.springreviewer.metrics;
+
+import by.frozzel.springreviewer.dto.SlowRequestDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Кольцевой буфер фиксированного размера: запись - один getAndIncrement и одна запись в ячейку,
+// старые записи перезаписываются новыми
+@Component
+public class SlowRequestBuffer {
+
+    private final AtomicReferenceArray<SlowRequestDto> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowRequestBuffer(@Value("${metrics.slow-requests.capacity:100}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public void add(SlowRequestDto request) {
+        long position = sequence.getAndIncrement();
+        slots.set((int) (position % slots.length()), request);
+    }
+
+    // Последние записи, от новых к старым
+    public List<SlowRequestDto> getRecent() {
+        long last = sequence.get();
+        int length = slots.length();
+        List<SlowRequestDto> result = new ArrayList<>(length);
+        for (long position = last - 1; position >= 0 && position >= last - length; position--) {
+            SlowRequestDto request = slots.get((int) (position % length));
+            if (request != null) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package by.frozzel.springreviewer.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Статистика JDBC текущего потока запроса. Заполняется прокси источника данных,
+// начинается и завершается интерсептором; вне запроса запись игнорируется
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // Повторная привязка статистики запроса, например при асинхронном повторном диспетчеризовании
+    public static void attach(SqlStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStats end() {
+        SqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementCount++;
+            stats.jdbcNanos += elapsedNanos;
+            if (sql != null) {
+                stats.shapes.merge(shapeOf(sql), 1, Integer::sum);
+            }
+        }
+    }
+
+    // Форма запроса: литералы заменены на '?', пробелы схлопнуты, чтобы "WHERE id = 1" и "WHERE id = 2" совпадали
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public static final class SqlStats {
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int statementCount;
+        private long jdbcNanos;
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        public Map<String, Integer> getStatementShapes() {
+            return Collections.unmodifiableMap(shapes);
+        }
+
+        // Формы, выполненные не меньше minRepeats раз, от самых частых - типичный признак N+1
+        public Map<String, Integer> getRepeatedShapes(int minRepeats) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapes.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= minRepeats)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            return repeated;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package by.frozzel.springreviewer.model;
+
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+// Общее состояние фоновых задач (генерация логов, запись JFR): статус, время выполнения, результат и отмена
+@Getter
+@Setter
+@RequiredArgsConstructor
+public abstract class BackgroundTask {
+    private final String id;
+    private final Instant createdAt = Instant.now();
+    // Переходы из PENDING выполняются CAS: отмена и запуск задачи могут произойти одновременно
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicReference<TaskStatus> status = new AtomicReference<>(TaskStatus.PENDING);
+    private volatile Path resultPath;
+    private volatile String errorMessage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> execution;
+
+    public TaskStatus getStatus() {
+        return status.get();
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status.set(status);
+    }
+
+    public boolean compareAndSetStatus(TaskStatus expected, TaskStatus status) {
+        return this.status.compareAndSet(expected, status);
+    }
+
+    public boolean isFinished() {
+        TaskStatus current = status.get();
+        return current == TaskStatus.COMPLETED
+                || current == TaskStatus.FAILED
+                || current == TaskStatus.CANCELLED;
+    }
+}
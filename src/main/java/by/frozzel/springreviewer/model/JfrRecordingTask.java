@@ -0,0 +1,26 @@
+package by.frozzel.springreviewer.model;
+
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Getter;
+
+@Getter
+public class JfrRecordingTask extends BackgroundTask {
+    private final String settings;
+    private final Duration duration;
+
+    public JfrRecordingTask(String id, String settings, Duration duration) {
+        super(id);
+        this.settings = settings;
+        this.duration = duration;
+    }
+
+    public Long getRemainingSeconds() {
+        Instant started = getStartedAt();
+        if (getStatus() != TaskStatus.RUNNING || started == null) {
+            return null;
+        }
+        return Math.max(0, Duration.between(Instant.now(), started.plus(duration)).toSeconds());
+    }
+}
@@ -1,15 +1,59 @@
 package by.frozzel.springreviewer.model;
 
-import by.frozzel.springreviewer.model.enums.LogGenerationStatus;
-import java.nio.file.Path;
-import lombok.Data;
-import lombok.RequiredArgsConstructor;
-
-@Data
-@RequiredArgsConstructor
-public class LogGenerationTask {
-    private final String id;
-    private volatile LogGenerationStatus status = LogGenerationStatus.PENDING;
-    private volatile Path resultPath;
-    private volatile String errorMessage;
-}
\ No newline at end of file
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LogGenerationTask extends BackgroundTask {
+    // Ключ результата (исходные файлы + фильтр), по которому файл может разделяться между задачами
+    private volatile String resultKey;
+
+    private volatile long totalBytes;
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    private final AtomicLong linesMatched = new AtomicLong();
+
+    public LogGenerationTask(String id) {
+        super(id);
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed.get();
+    }
+
+    public long getLinesMatched() {
+        return linesMatched.get();
+    }
+
+    public void addProgress(long bytes, long lines) {
+        bytesProcessed.addAndGet(bytes);
+        linesMatched.addAndGet(lines);
+    }
+
+    public Double getProgressPercent() {
+        if (getStatus() == TaskStatus.COMPLETED) {
+            return 100.0;
+        }
+        long total = totalBytes;
+        if (total <= 0) {
+            return null;
+        }
+        return Math.min(100.0, getBytesProcessed() * 100.0 / total);
+    }
+
+    public Long getEtaSeconds() {
+        long processed = getBytesProcessed();
+        long total = totalBytes;
+        Instant started = getStartedAt();
+        if (getStatus() != TaskStatus.RUNNING || started == null || processed <= 0 || total <= 0) {
+            return null;
+        }
+        long elapsedMillis = Duration.between(started, Instant.now()).toMillis();
+        long remaining = Math.max(0, total - processed);
+        return (long) Math.ceil(elapsedMillis * (double) remaining / processed / 1000.0);
+    }
+}
@@ -1,11 +1,13 @@
 package by.frozzel.springreviewer.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +18,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reviews")
+// Индекс по user_id нужен выборке отзывов порции пользователей (ANY) и отзывам одного пользователя
+@Table(name = "reviews", indexes = @Index(name = "idx_reviews_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,5 +46,7 @@ public class Review {
 
     private LocalDate date;
     private Integer grade;
+    // Длина совпадает с @Size в ReviewCreateDto
+    @Column(length = 5000)
     private String comment;
 }
@@ -0,0 +1,30 @@
+package by.frozzel.springreviewer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Накопленное количество запросов по маршруту и классу статуса; пишется только через
+// RouteVisitRepository.addVisitCounts, чтобы приращения складывались в базе
+@Entity
+@Table(name = "route_visits")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteVisit {
+    @EmbeddedId
+    private RouteVisitId id;
+
+    @Column(name = "visit_count", nullable = false)
+    private long visitCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
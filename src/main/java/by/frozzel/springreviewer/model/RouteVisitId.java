@@ -0,0 +1,27 @@
+package by.frozzel.springreviewer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteVisitId implements Serializable {
+    @Column(length = 16)
+    private String method;
+
+    @Column(length = 512)
+    private String pattern;
+
+    @Column(name = "status_class", length = 3)
+    private String statusClass;
+}
@@ -1,8 +1,9 @@
 package by.frozzel.springreviewer.model.enums;
 
-public enum LogGenerationStatus {
+public enum TaskStatus {
     PENDING,
     RUNNING,
     COMPLETED,
-    FAILED
-}
\ No newline at end of file
+    FAILED,
+    CANCELLED
+}
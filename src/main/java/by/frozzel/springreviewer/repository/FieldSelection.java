@@ -0,0 +1,40 @@
+package by.frozzel.springreviewer.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Выбранные поля ответа, например из "id,grade,teacher.surname". Имена совпадают с полями JSON
+// соответствующих DisplayDto; у вложенного объекта своя выборка
+public final class FieldSelection {
+
+    // Значение - выборка вложенного объекта, null для простых полей
+    private final Map<String, FieldSelection> selected;
+
+    public FieldSelection(Map<String, FieldSelection> selected) {
+        this.selected = Collections.unmodifiableMap(new LinkedHashMap<>(selected));
+    }
+
+    public boolean contains(String field) {
+        return selected.containsKey(field);
+    }
+
+    public boolean containsAny(String... fields) {
+        for (String field : fields) {
+            if (selected.containsKey(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Выборка вложенного объекта или null, если он не запрошен
+    public FieldSelection nested(String field) {
+        return selected.get(field);
+    }
+
+    public Set<String> fields() {
+        return selected.keySet();
+    }
+}
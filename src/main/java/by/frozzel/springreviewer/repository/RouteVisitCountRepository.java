@@ -0,0 +1,11 @@
+package by.frozzel.springreviewer.repository;
+
+import java.util.List;
+
+public interface RouteVisitCountRepository {
+
+    void addVisitCounts(List<VisitCountDelta> deltas);
+
+    record VisitCountDelta(String method, String pattern, String statusClass, long count) {
+    }
+}
@@ -0,0 +1,38 @@
+package by.frozzel.springreviewer.repository;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Фрагмент RouteVisitRepository: многострочный upsert не выражается через JPQL
+@RequiredArgsConstructor
+public class RouteVisitCountRepositoryImpl implements RouteVisitCountRepository {
+
+    private static final String UPSERT_PREFIX_SQL =
+            "INSERT INTO route_visits (method, pattern, status_class, visit_count, updated_at) VALUES ";
+    private static final String UPSERT_SUFFIX_SQL = " ON CONFLICT (method, pattern, status_class) DO UPDATE"
+            + " SET visit_count = route_visits.visit_count + EXCLUDED.visit_count,"
+            + " updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Все приращения за интервал записываются одним многострочным INSERT ... ON CONFLICT
+    @Override
+    public void addVisitCounts(List<VisitCountDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX_SQL);
+        Object[] args = new Object[deltas.size() * 4];
+        for (int i = 0; i < deltas.size(); i++) {
+            VisitCountDelta delta = deltas.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, CURRENT_TIMESTAMP)" : ", (?, ?, ?, ?, CURRENT_TIMESTAMP)");
+            args[i * 4] = delta.method();
+            args[i * 4 + 1] = delta.pattern();
+            args[i * 4 + 2] = delta.statusClass();
+            args[i * 4 + 3] = delta.count();
+        }
+        sql.append(UPSERT_SUFFIX_SQL);
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
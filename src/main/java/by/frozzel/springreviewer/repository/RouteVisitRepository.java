@@ -0,0 +1,10 @@
+package by.frozzel.springreviewer.repository;
+
+import by.frozzel.springreviewer.model.RouteVisit;
+import by.frozzel.springreviewer.model.RouteVisitId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RouteVisitRepository extends JpaRepository<RouteVisit, RouteVisitId>, RouteVisitCountRepository {
+}
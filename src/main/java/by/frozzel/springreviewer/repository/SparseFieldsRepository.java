@@ -0,0 +1,230 @@
+package by.frozzel.springreviewer.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Ответы для ?fields=: SQL собирается под выбранные поля, поэтому лишние колонки (comment) и JOIN
+// (users, subjects, teachers) не выполняются, а предметы преподавателей читаются одним запросом
+// вместо ленивой загрузки коллекции для каждой сущности
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldsRepository {
+
+    // Пользователи читаются порциями: в памяти одновременно только одна порция с её отзывами
+    static final int USERS_PER_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Map<String, Object>> findAllReviews(FieldSelection fields) {
+        return collectReviews(fields, null, null);
+    }
+
+    public List<Map<String, Object>> findReviewsByTeacherId(FieldSelection fields, Integer teacherId) {
+        return collectReviews(fields, "r.teacher_id = ?", teacherId);
+    }
+
+    public List<Map<String, Object>> findReviewsByUserId(FieldSelection fields, Integer userId) {
+        return collectReviews(fields, "r.user_id = ?", userId);
+    }
+
+    public List<Map<String, Object>> findAllTeachers(FieldSelection fields) {
+        StringBuilder sql = new StringBuilder("SELECT t.id");
+        appendIf(sql, fields.contains("surname"), ", t.surname");
+        appendIf(sql, fields.contains("name"), ", t.name");
+        appendIf(sql, fields.contains("patronym"), ", t.patronym");
+        sql.append(" FROM teachers t");
+
+        List<Map<String, Object>> teachers = new ArrayList<>();
+        Map<Integer, Map<String, Object>> byId = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), (ResultSet rs) -> {
+            int id = rs.getInt("id");
+            Map<String, Object> teacher = teacherRow(fields, rs, id, "surname", "name", "patronym");
+            teachers.add(teacher);
+            byId.put(id, teacher);
+        });
+        if (fields.contains("subjects")) {
+            attachSubjectNames(byId, null);
+        }
+        return teachers;
+    }
+
+    // Порции выбираются по id (keyset), поэтому каждая следующая не дороже первой. На порцию - запрос
+    // пользователей и, если нужны отзывы, один запрос их отзывов
+    public void forEachUser(FieldSelection fields, Consumer<Map<String, Object>> consumer) {
+        FieldSelection reviewFields = fields.nested("reviews");
+        String sql = "SELECT u.id" + (fields.contains("username") ? ", u.username" : "")
+                + " FROM users u WHERE u.id > ? ORDER BY u.id LIMIT " + USERS_PER_BATCH;
+        int lastId = Integer.MIN_VALUE;
+        while (true) {
+            Map<Integer, Map<String, Object>> batch = new LinkedHashMap<>();
+            jdbcTemplate.query(sql, (ResultSet rs) -> {
+                int id = rs.getInt("id");
+                Map<String, Object> user = new LinkedHashMap<>();
+                putIf(user, fields, "id", id);
+                if (fields.contains("username")) {
+                    user.put("username", rs.getString("username"));
+                }
+                if (reviewFields != null) {
+                    user.put("reviews", new ArrayList<Map<String, Object>>());
+                }
+                batch.put(id, user);
+            }, lastId);
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (reviewFields != null) {
+                queryReviews(reviewFields, "r.user_id = ANY (?)", batch.keySet().toArray(new Integer[0]),
+                        (userId, review) -> addReview(batch.get(userId), review));
+            }
+            batch.values().forEach(consumer);
+            if (batch.size() < USERS_PER_BATCH) {
+                return;
+            }
+            for (Integer id : batch.keySet()) {
+                lastId = id;
+            }
+        }
+    }
+
+    private List<Map<String, Object>> collectReviews(FieldSelection fields, String condition, Object argument) {
+        List<Map<String, Object>> reviews = new ArrayList<>();
+        queryReviews(fields, condition, argument, (userId, review) -> reviews.add(review));
+        return reviews;
+    }
+
+    private void queryReviews(FieldSelection fields, String condition, Object argument, ReviewConsumer consumer) {
+        FieldSelection teacherFields = fields.nested("teacher");
+        boolean joinUser = fields.contains("author");
+        boolean joinSubject = fields.contains("subjectName");
+        boolean joinTeacher = teacherFields != null && teacherFields.containsAny("surname", "name", "patronym");
+
+        StringBuilder sql = new StringBuilder("SELECT r.id, r.user_id, r.teacher_id, r.subject_id");
+        appendIf(sql, fields.contains("date"), ", r.date");
+        appendIf(sql, fields.contains("grade"), ", r.grade");
+        appendIf(sql, fields.contains("comment"), ", r.comment");
+        appendIf(sql, joinUser, ", u.username");
+        appendIf(sql, joinSubject, ", s.name AS subject_name");
+        appendIf(sql, joinTeacher && teacherFields.contains("surname"), ", t.surname AS teacher_surname");
+        appendIf(sql, joinTeacher && teacherFields.contains("name"), ", t.name AS teacher_name");
+        appendIf(sql, joinTeacher && teacherFields.contains("patronym"), ", t.patronym AS teacher_patronym");
+        sql.append(" FROM reviews r");
+        appendIf(sql, joinUser, " JOIN users u ON u.id = r.user_id");
+        appendIf(sql, joinSubject, " JOIN subjects s ON s.id = r.subject_id");
+        appendIf(sql, joinTeacher, " JOIN teachers t ON t.id = r.teacher_id");
+        appendIf(sql, condition != null, " WHERE " + condition);
+
+        // Один и тот же преподаватель во всех его отзывах - общий объект, предметы дописываются в него один раз
+        Map<Integer, Map<String, Object>> teachersById = new HashMap<>();
+        Object[] arguments = argument != null ? new Object[]{argument} : new Object[0];
+        jdbcTemplate.query(sql.toString(), (ResultSet rs) -> {
+            Map<String, Object> review = new LinkedHashMap<>();
+            putIf(review, fields, "id", rs.getInt("id"));
+            putIf(review, fields, "authorId", rs.getInt("user_id"));
+            if (joinUser) {
+                review.put("author", rs.getString("username"));
+            }
+            if (teacherFields != null) {
+                int teacherId = rs.getInt("teacher_id");
+                Map<String, Object> teacher = teachersById.get(teacherId);
+                if (teacher == null) {
+                    teacher = teacherRow(teacherFields, rs, teacherId,
+                            "teacher_surname", "teacher_name", "teacher_patronym");
+                    teachersById.put(teacherId, teacher);
+                }
+                review.put("teacher", teacher);
+            }
+            putIf(review, fields, "subjectId", rs.getInt("subject_id"));
+            if (joinSubject) {
+                review.put("subjectName", rs.getString("subject_name"));
+            }
+            if (fields.contains("date")) {
+                review.put("date", rs.getObject("date", LocalDate.class));
+            }
+            if (fields.contains("grade")) {
+                review.put("grade", rs.getObject("grade", Integer.class));
+            }
+            if (fields.contains("comment")) {
+                review.put("comment", rs.getString("comment"));
+            }
+            consumer.accept(rs.getInt("user_id"), review);
+        }, arguments);
+
+        if (teacherFields != null && teacherFields.contains("subjects") && !teachersById.isEmpty()) {
+            attachSubjectNames(teachersById, condition == null ? null : teachersById.keySet());
+        }
+    }
+
+    // Колонки surname/name/patronym читаются под переданными псевдонимами
+    private static Map<String, Object> teacherRow(FieldSelection fields, ResultSet rs, int id,
+                                                  String surnameColumn, String nameColumn, String patronymColumn)
+            throws SQLException {
+        Map<String, Object> teacher = new LinkedHashMap<>();
+        putIf(teacher, fields, "id", id);
+        if (fields.contains("surname")) {
+            teacher.put("surname", rs.getString(surnameColumn));
+        }
+        if (fields.contains("name")) {
+            teacher.put("name", rs.getString(nameColumn));
+        }
+        if (fields.contains("patronym")) {
+            teacher.put("patronym", rs.getString(patronymColumn));
+        }
+        if (fields.contains("subjects")) {
+            teacher.put("subjects", new ArrayList<String>());
+        }
+        return teacher;
+    }
+
+    // teacherIds = null - предметы всех преподавателей
+    @SuppressWarnings("unchecked")
+    private void attachSubjectNames(Map<Integer, Map<String, Object>> teachersById, Set<Integer> teacherIds) {
+        String sql = "SELECT ts.teacher_id, s.name FROM teacher_subject ts JOIN subjects s ON s.id = ts.subject_id";
+        Object[] arguments = new Object[0];
+        if (teacherIds != null) {
+            sql += " WHERE ts.teacher_id = ANY (?)";
+            arguments = new Object[]{teacherIds.toArray(new Integer[0])};
+        }
+        jdbcTemplate.query(sql, (ResultSet rs) -> {
+            String name = rs.getString("name");
+            Map<String, Object> teacher = teachersById.get(rs.getInt("teacher_id"));
+            if (teacher != null && name != null) {
+                ((List<String>) teacher.get("subjects")).add(name);
+            }
+        }, arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addReview(Map<String, Object> user, Map<String, Object> review) {
+        if (user != null) {
+            ((List<Map<String, Object>>) user.get("reviews")).add(review);
+        }
+    }
+
+    private static void putIf(Map<String, Object> row, FieldSelection fields, String field, Object value) {
+        if (fields.contains(field)) {
+            row.put(field, value);
+        }
+    }
+
+    private static void appendIf(StringBuilder sql, boolean condition, String fragment) {
+        if (condition) {
+            sql.append(fragment);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReviewConsumer {
+        void accept(int userId, Map<String, Object> review);
+    }
+}
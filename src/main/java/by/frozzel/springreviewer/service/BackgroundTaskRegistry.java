@@ -0,0 +1,195 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.exception.ConflictException;
+import by.frozzel.springreviewer.exception.ResourceNotFoundException;
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
+import by.frozzel.springreviewer.model.BackgroundTask;
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+
+// Жизненный цикл фоновых задач: лимиты, переходы статусов, отмена и вытеснение по TTL.
+// Слот лимита активных задач освобождается только когда задача действительно завершилась
+@Slf4j
+public abstract class BackgroundTaskRegistry<T extends BackgroundTask> {
+
+    private final Map<String, T> tasks = new ConcurrentHashMap<>();
+
+    private final Class<T> taskClass;
+    private final String taskType;
+    private final Duration taskTtl;
+    private final int maxTasks;
+    private final int maxActive;
+    private final long retryAfterSeconds;
+
+    protected BackgroundTaskRegistry(Class<T> taskClass, String taskType, Duration taskTtl, int maxTasks,
+                                     int maxActive, long retryAfterSeconds) {
+        this.taskClass = taskClass;
+        this.taskType = taskType;
+        this.taskTtl = taskTtl;
+        this.maxTasks = maxTasks;
+        this.maxActive = maxActive;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // Проверка лимитов и добавление задачи атомарны, иначе параллельные запросы превысят лимит
+    protected synchronized T register(T task) {
+        if (tasks.size() >= maxTasks) {
+            evictOldestFinished();
+        }
+        long active = tasks.values().stream().filter(retained -> !retained.isFinished()).count();
+        if (active >= maxActive || tasks.size() >= maxTasks) {
+            log.warn("{} limit reached ({} active, {} retained), rejecting new task", taskType, active, tasks.size());
+            throw new ServiceUnavailableException("Too many " + taskType + " tasks in progress, try again later",
+                    retryAfterSeconds);
+        }
+        tasks.put(task.getId(), task);
+        log.info("Created {} task with ID: {}", taskType, task.getId());
+        return task;
+    }
+
+    public T getTask(String taskId) {
+        T task = tasks.get(taskId);
+        if (task == null) {
+            log.warn("Attempted to access non-existent {} task with ID: {}", taskType, taskId);
+            throw new ResourceNotFoundException(taskClass.getSimpleName(), "ID", taskId);
+        }
+        return task;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void updateStatus(String taskId, TaskStatus status) {
+        T task = getTask(taskId);
+        task.setStatus(status);
+        log.info("Updated status for {} task ID {}: {}", taskType, taskId, status);
+    }
+
+    public void markRunning(String taskId) {
+        T task = getTask(taskId);
+        task.setStartedAt(Instant.now());
+        if (!task.compareAndSetStatus(TaskStatus.PENDING, TaskStatus.RUNNING)) {
+            throw new CancellationException("Task was cancelled before it started");
+        }
+        log.info("{} task ID {} is running", taskType, taskId);
+    }
+
+    public T cancelTask(String taskId) {
+        T task = getTask(taskId);
+        if (task.isFinished()) {
+            throw new ConflictException("Task " + taskId + " is already finished with status " + task.getStatus());
+        }
+        task.setCancelRequested(true);
+        if (task.compareAndSetStatus(TaskStatus.PENDING, TaskStatus.CANCELLED)) {
+            // Задача ещё не перешла в RUNNING: снимаем её с очереди, а если поток уже взял её,
+            // markRunning не сработает и задача завершится, ничего не выполнив
+            task.setFinishedAt(Instant.now());
+            Future<?> execution = task.getExecution();
+            if (execution != null) {
+                execution.cancel(false);
+            }
+            log.info("{} task ID {} was cancelled before it started", taskType, taskId);
+        } else {
+            // Выполняющаяся задача сама перейдёт в CANCELLED на ближайшей проверке флага
+            log.info("Cancellation requested for running {} task ID {}", taskType, taskId);
+        }
+        return task;
+    }
+
+    public void setCancelledResult(String taskId) {
+        T task = getTask(taskId);
+        if (task.compareAndSetStatus(TaskStatus.PENDING, TaskStatus.CANCELLED)
+                || task.compareAndSetStatus(TaskStatus.RUNNING, TaskStatus.CANCELLED)) {
+            task.setFinishedAt(Instant.now());
+            log.info("{} task ID {} was cancelled", taskType, taskId);
+        }
+    }
+
+    public void setSuccessResult(String taskId, Path resultPath) {
+        T task = getTask(taskId);
+        task.setResultPath(resultPath);
+        task.setFinishedAt(Instant.now());
+        task.setStatus(TaskStatus.COMPLETED);
+        log.info("{} task ID {} completed. Result path: {}", taskType, taskId, resultPath);
+    }
+
+    public void setFailureResult(String taskId, String errorMessage) {
+        T task = getTask(taskId);
+        task.setErrorMessage(errorMessage);
+        task.setFinishedAt(Instant.now());
+        task.setStatus(TaskStatus.FAILED);
+        log.error("{} task ID {} failed: {}", taskType, taskId, errorMessage);
+    }
+
+    // Вызывается из @Scheduled-метода наследника, у каждого реестра свой интервал
+    protected int evictExpired() {
+        Instant expiredBefore = expiredBefore();
+        int evicted = 0;
+        for (T task : tasks.values()) {
+            if (task.isFinished() && task.getFinishedAt() != null && task.getFinishedAt().isBefore(expiredBefore)
+                    && evict(task)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} expired {} tasks. Retained tasks: {}", evicted, taskType, tasks.size());
+        }
+        return evicted;
+    }
+
+    protected Instant expiredBefore() {
+        return Instant.now().minus(taskTtl);
+    }
+
+    protected Collection<T> retainedTasks() {
+        return tasks.values();
+    }
+
+    // Освобождает результат вытесненной задачи; по умолчанию удаляет её файл
+    protected void releaseResult(T task) {
+        deleteResultFile(task.getResultPath());
+    }
+
+    protected void deleteResultFile(Path resultPath) {
+        if (resultPath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resultPath);
+        } catch (IOException e) {
+            log.warn("Could not delete {} result file {}: {}", taskType, resultPath, e.getMessage());
+        }
+    }
+
+    private void evictOldestFinished() {
+        tasks.values().stream()
+                .filter(BackgroundTask::isFinished)
+                .filter(task -> task.getFinishedAt() != null)
+                .min(Comparator.comparing(BackgroundTask::getFinishedAt))
+                .ifPresent(task -> {
+                    log.info("{} task limit ({}) reached, evicting oldest finished task {}",
+                            taskType, maxTasks, task.getId());
+                    evict(task);
+                });
+    }
+
+    private boolean evict(T task) {
+        if (tasks.remove(task.getId(), task)) {
+            releaseResult(task);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package by.frozzel.springreviewer.service;
+
+// Строка для регулярного выражения с ограничением времени: катастрофический возврат в шаблоне
+// обращается к символам миллиарды раз, поэтому время проверяется прямо в charAt, раз в CHECK_INTERVAL обращений
+final class DeadlineCharSequence implements CharSequence {
+
+    private static final int CHECK_INTERVAL = 4096;
+
+    private final CharSequence text;
+    private final long deadlineNanos;
+    private int accessesUntilCheck = CHECK_INTERVAL;
+
+    DeadlineCharSequence(CharSequence text, long deadlineNanos) {
+        this.text = text;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (--accessesUntilCheck == 0) {
+            accessesUntilCheck = CHECK_INTERVAL;
+            checkDeadline(deadlineNanos);
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(text.subSequence(start, end), deadlineNanos);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    static void checkDeadline(long deadlineNanos) {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    static final class DeadlineExceededException extends RuntimeException {
+        DeadlineExceededException() {
+            super("Search time limit exceeded", null, false, false);
+        }
+    }
+}
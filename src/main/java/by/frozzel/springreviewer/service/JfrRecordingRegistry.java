@@ -0,0 +1,34 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.model.JfrRecordingTask;
+import java.time.Duration;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "diagnostics.jfr.enabled", havingValue = "true")
+@Slf4j
+public class JfrRecordingRegistry extends BackgroundTaskRegistry<JfrRecordingTask> {
+
+    public JfrRecordingRegistry(@Value("${diagnostics.jfr.task-ttl-minutes:60}") long taskTtlMinutes,
+                                @Value("${diagnostics.jfr.max-concurrent:1}") int maxConcurrent,
+                                @Value("${diagnostics.jfr.retry-after-seconds:60}") long retryAfterSeconds) {
+        super(JfrRecordingTask.class, "JFR recording", Duration.ofMinutes(taskTtlMinutes), Integer.MAX_VALUE,
+                maxConcurrent, retryAfterSeconds);
+    }
+
+    public JfrRecordingTask createTask(String settings, Duration duration) {
+        JfrRecordingTask task = register(new JfrRecordingTask(UUID.randomUUID().toString(), settings, duration));
+        log.info("JFR recording task {} uses settings '{}' for {}", task.getId(), settings, duration);
+        return task;
+    }
+
+    @Scheduled(fixedDelayString = "${diagnostics.jfr.cleanup-interval-ms:60000}")
+    public void evictExpiredTasks() {
+        evictExpired();
+    }
+}
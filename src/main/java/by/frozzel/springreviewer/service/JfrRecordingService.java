@@ -0,0 +1,165 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.config.AsyncConfig;
+import by.frozzel.springreviewer.exception.BadRequestException;
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
+import by.frozzel.springreviewer.model.JfrRecordingTask;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "diagnostics.jfr.enabled", havingValue = "true")
+@Slf4j
+public class JfrRecordingService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyyMMdd-HHmmss");
+    // Интервал проверки отмены во время записи
+    private static final long CANCEL_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final JfrRecordingRegistry recordingRegistry;
+    private final Path recordingsDir;
+    private final Duration maxDuration;
+    private JfrRecordingService self;
+
+    public JfrRecordingService(JfrRecordingRegistry recordingRegistry,
+                               @Value("${diagnostics.jfr.dir:./jfr-recordings}") String recordingsDirPath,
+                               @Value("${diagnostics.jfr.max-duration-seconds:1800}") long maxDurationSeconds) {
+        this.recordingRegistry = recordingRegistry;
+        this.recordingsDir = Paths.get(recordingsDirPath).toAbsolutePath();
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+    }
+
+    @Autowired
+    @Lazy
+    public void setSelf(JfrRecordingService self) {
+        this.self = self;
+    }
+
+    public JfrRecordingTask startRecording(String durationText, String settings) {
+        Duration duration = parseDuration(durationText);
+        Configuration configuration = loadConfiguration(settings);
+        if (!FlightRecorder.isAvailable()) {
+            throw new ServiceUnavailableException("Flight Recorder is not available in this JVM",
+                    recordingRegistry.getRetryAfterSeconds());
+        }
+
+        JfrRecordingTask task = recordingRegistry.createTask(settings, duration);
+        try {
+            Future<Void> execution = self.recordAsync(task.getId(), configuration);
+            task.setExecution(execution);
+        } catch (TaskRejectedException e) {
+            recordingRegistry.setFailureResult(task.getId(), "Rejected: JFR recording executor is busy");
+            throw new ServiceUnavailableException("JFR recording executor is busy, try again later",
+                    recordingRegistry.getRetryAfterSeconds());
+        }
+        return task;
+    }
+
+    @Async(AsyncConfig.JFR_RECORDING_EXECUTOR)
+    public Future<Void> recordAsync(String taskId, Configuration configuration) {
+        Path targetPath = null;
+        try (Recording recording = new Recording(configuration)) {
+            JfrRecordingTask task = recordingRegistry.getTask(taskId);
+            // Переход PENDING -> RUNNING до старта записи: отменённая в очереди задача JFR не запускает
+            recordingRegistry.markRunning(taskId);
+            Files.createDirectories(recordingsDir);
+            recording.setName("on-demand-" + taskId.substring(0, 8));
+            recording.setToDisk(true);
+            recording.start();
+
+            awaitDuration(task);
+            recording.stop();
+
+            targetPath = recordingsDir.resolve(String.format("recording_%s_%s.jfr",
+                    LocalDateTime.now().format(FILE_TIMESTAMP_FORMATTER), taskId.substring(0, 8)));
+            recording.dump(targetPath);
+            recordingRegistry.setSuccessResult(taskId, targetPath);
+        } catch (CancellationException e) {
+            log.info("JFR recording {} stopped: {}", taskId, e.getMessage());
+            recordingRegistry.setCancelledResult(taskId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordingRegistry.setCancelledResult(taskId);
+        } catch (IOException e) {
+            log.error("JFR recording {} could not be written to {}", taskId, targetPath, e);
+            deleteQuietly(targetPath);
+            recordingRegistry.setFailureResult(taskId, "Failed to write recording: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("JFR recording {} failed with an unexpected error.", taskId, e);
+            deleteQuietly(targetPath);
+            recordingRegistry.setFailureResult(taskId, "An unexpected error occurred: " + e.getMessage());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void awaitDuration(JfrRecordingTask task) throws InterruptedException {
+        long deadline = System.nanoTime() + task.getDuration().toNanos();
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (task.isCancelRequested()) {
+                throw new CancellationException("Recording was cancelled");
+            }
+            Thread.sleep(Math.min(CANCEL_CHECK_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+        }
+    }
+
+    private Duration parseDuration(String durationText) {
+        Duration duration;
+        try {
+            // Число без единиц измерения трактуется как секунды: duration=60 и duration=60s эквивалентны
+            duration = DurationStyle.detectAndParse(durationText, ChronoUnit.SECONDS);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid duration '" + durationText + "', expected e.g. 60s or 5m");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new BadRequestException("Duration must be positive");
+        }
+        if (duration.compareTo(maxDuration) > 0) {
+            throw new BadRequestException("Duration must not exceed " + maxDuration.toSeconds() + " seconds");
+        }
+        return duration;
+    }
+
+    private static Configuration loadConfiguration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new BadRequestException("Unknown JFR settings '" + settings + "', expected 'default' or 'profile'");
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete JFR recording file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package by.frozzel.springreviewer.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Service
+@Slf4j
+public class LogFileTransferService {
+
+    // Атрибуты Tomcat для sendfile: при их наличии тело отправляется ядром вне рабочего потока
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_SIZE = 48L * 1024;
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final Duration IMMUTABLE_MAX_AGE = Duration.ofDays(365);
+
+    public ResponseEntity<StreamingResponseBody> buildFileResponse(Path file, boolean immutable,
+                                                                   HttpServletRequest request)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long fileSize = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        boolean compressed = LogService.isCompressed(file);
+        boolean decompress = compressed && !acceptsGzip(request);
+        String etag = buildETag(fileSize, lastModified, decompress);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(downloadFileName(file))
+                .build());
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.setCacheControl(immutable
+                ? CacheControl.maxAge(IMMUTABLE_MAX_AGE).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate());
+        if (compressed) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        headers.set(HttpHeaders.ACCEPT_RANGES, decompress ? "none" : "bytes");
+
+        HttpHeaders requestHeaders = readRequestHeaders(request);
+        if (isNotModified(requestHeaders, etag, lastModified)) {
+            log.debug("Log file {} not modified for client, answering 304", file);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+
+        if (decompress) {
+            // Размер распакованного содержимого заранее неизвестен: без Content-Length и диапазонов
+            log.debug("Client does not accept gzip, decompressing {} on the fly", file);
+            return ResponseEntity.ok().headers(headers).body(decompressingBody(file));
+        }
+        if (compressed) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+
+        long start = 0;
+        long length = fileSize;
+        HttpStatus status = HttpStatus.OK;
+
+        HttpRange range = resolveSingleRange(requestHeaders, etag, lastModified);
+        if (range != null) {
+            if (fileSize == 0 || range.getRangeStart(fileSize) >= fileSize) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .headers(headers).build();
+            }
+            start = range.getRangeStart(fileSize);
+            long end = range.getRangeEnd(fileSize);
+            length = end - start + 1;
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+            log.debug("Serving byte range {}-{} of {} ({} bytes total)", start, end, file, fileSize);
+        }
+
+        headers.setContentLength(length);
+
+        if (trySendfile(request, file, start, length)) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        return ResponseEntity.status(status).headers(headers).body(transferBody(file, start, length));
+    }
+
+    private static String buildETag(long size, long lastModified, boolean decompressed) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified)
+                + (decompressed ? "-identity" : "") + "\"";
+    }
+
+    private static String downloadFileName(Path file) {
+        String name = file.getFileName().toString();
+        return LogService.isCompressed(file)
+                ? name.substring(0, name.length() - LogService.GZIP_EXTENSION.length())
+                : name;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (values != null && values.hasMoreElements()) {
+            for (String coding : values.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!GZIP_ENCODING.equalsIgnoreCase(name) && !"*".equals(name)) {
+                    continue;
+                }
+                boolean rejected = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+                if (!rejected) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static HttpHeaders readRequestHeaders(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        copyHeader(request, headers, HttpHeaders.IF_NONE_MATCH);
+        copyHeader(request, headers, HttpHeaders.IF_MODIFIED_SINCE);
+        copyHeader(request, headers, HttpHeaders.IF_RANGE);
+        copyHeader(request, headers, HttpHeaders.RANGE);
+        return headers;
+    }
+
+    private static void copyHeader(HttpServletRequest request, HttpHeaders headers, String name) {
+        String value = request.getHeader(name);
+        if (value != null) {
+            headers.set(name, value);
+        }
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.stream().anyMatch(tag -> "*".equals(tag) || etagMatches(tag, etag));
+        }
+        long ifModifiedSince = safeDateHeader(requestHeaders, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    private static boolean etagMatches(String candidate, String etag) {
+        String normalized = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+        return normalized.equals(etag);
+    }
+
+    private static HttpRange resolveSingleRange(HttpHeaders requestHeaders, String etag, long lastModified) {
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean validatorMatches = ifRange.startsWith("\"")
+                    ? ifRange.equals(etag)
+                    : safeDateHeader(requestHeaders, HttpHeaders.IF_RANGE) == lastModified;
+            if (!validatorMatches) {
+                log.debug("If-Range validator '{}' does not match current file, sending full content", ifRange);
+                return null;
+            }
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            // Multipart/byteranges клиентам загрузки логов не нужен: отдаём файл целиком
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header '{}': {}", rangeHeader, e.getMessage());
+            return null;
+        }
+    }
+
+    private static long safeDateHeader(HttpHeaders headers, String name) {
+        try {
+            return headers.getFirstDate(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static boolean trySendfile(HttpServletRequest request, Path file, long start, long length)
+            throws IOException {
+        if (length < SENDFILE_MIN_SIZE || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, start + length);
+        log.debug("Delegating transfer of {} ({} bytes from offset {}) to container sendfile", file, length, start);
+        return true;
+    }
+
+    private static StreamingResponseBody decompressingBody(Path file) {
+        return outputStream -> {
+            try (InputStream in = LogService.openDecompressed(file)) {
+                in.transferTo(outputStream);
+            }
+        };
+    }
+
+    private static StreamingResponseBody transferBody(Path file, long start, long length) {
+        return outputStream -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.exception.BadRequestException;
+
+public record LogFilter(String minLevel, String loggerFilter) {
+
+    public static final LogFilter NONE = new LogFilter(null, null);
+
+    public static LogFilter of(String level, String logger) {
+        String minLevel = LogLineParser.normalizeLevel(level);
+        if (level != null && !level.isBlank() && minLevel == null) {
+            throw new BadRequestException("Unknown log level: " + level);
+        }
+        String loggerFilter = (logger == null || logger.isBlank()) ? null : logger.trim();
+        return minLevel == null && loggerFilter == null ? NONE : new LogFilter(minLevel, loggerFilter);
+    }
+
+    public boolean isEmpty() {
+        return minLevel == null && loggerFilter == null;
+    }
+
+    public boolean matches(String level, String logger) {
+        if (!LogLineParser.isAtLeast(level, minLevel)) {
+            return false;
+        }
+        return loggerFilter == null || (logger != null && logger.contains(loggerFilter));
+    }
+
+    public String cacheKey() {
+        return (minLevel == null ? "*" : minLevel) + "|" + (loggerFilter == null ? "*" : loggerFilter);
+    }
+}
@@ -1,55 +1,156 @@
 package by.frozzel.springreviewer.service;
 
-import by.frozzel.springreviewer.exception.ResourceNotFoundException;
 import by.frozzel.springreviewer.model.LogGenerationTask;
-import by.frozzel.springreviewer.model.enums.LogGenerationStatus;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
-public class LogGenerationTaskRegistry {
+public class LogGenerationTaskRegistry extends BackgroundTaskRegistry<LogGenerationTask> {
 
-    private final Map<String, LogGenerationTask> tasks = new ConcurrentHashMap<>();
+    // Готовые результаты по ключу содержимого; доступ под synchronized (sharedResults)
+    private final Map<String, SharedResult> sharedResults = new HashMap<>();
+
+    private final Path generatedLogsDir;
+
+    public LogGenerationTaskRegistry(@Value("${logs.generation.task-ttl-minutes:60}") long taskTtlMinutes,
+                                     @Value("${logs.generation.max-tasks:500}") int maxTasks,
+                                     @Value("${logs.generation.retry-after-seconds:30}") long retryAfterSeconds,
+                                     @Value("${generated.logs.dir:./generated-logs}") String generatedLogsDirPath) {
+        super(LogGenerationTask.class, "log generation", Duration.ofMinutes(taskTtlMinutes), maxTasks, maxTasks,
+                retryAfterSeconds);
+        this.generatedLogsDir = Paths.get(generatedLogsDirPath).toAbsolutePath();
+    }
 
     public LogGenerationTask createTask() {
-        String taskId = UUID.randomUUID().toString();
-        LogGenerationTask task = new LogGenerationTask(taskId);
-        tasks.put(taskId, task);
-        log.info("Created log generation task with ID: {}", taskId);
-        return task;
+        return register(new LogGenerationTask(UUID.randomUUID().toString()));
     }
 
-    public LogGenerationTask getTask(String taskId) {
-        LogGenerationTask task = tasks.get(taskId);
-        if (task == null) {
-            log.warn("Attempted to access non-existent task with ID: {}", taskId);
-            throw new ResourceNotFoundException("LogGenerationTask", "ID", taskId);
-        }
-        return task;
+    public void markRunning(String taskId, long totalBytes) {
+        getTask(taskId).setTotalBytes(totalBytes);
+        markRunning(taskId);
+        log.info("Task ID {} has {} bytes to process", taskId, totalBytes);
     }
 
-    public void updateStatus(String taskId, LogGenerationStatus status) {
+    public boolean completeFromSharedResult(String taskId, String resultKey) {
         LogGenerationTask task = getTask(taskId);
-        task.setStatus(status);
-        log.info("Updated status for task ID {}: {}", taskId, status);
+        SharedResult shared;
+        synchronized (sharedResults) {
+            shared = sharedResults.get(resultKey);
+            if (shared == null) {
+                return false;
+            }
+            if (!Files.exists(shared.path)) {
+                log.warn("Shared generated log file {} disappeared, it will be regenerated", shared.path);
+                sharedResults.remove(resultKey);
+                return false;
+            }
+            shared.references++;
+        }
+        task.setResultKey(resultKey);
+        task.addProgress(task.getTotalBytes(), shared.linesMatched);
+        log.info("Task ID {} reuses generated file {} ({} references)", taskId, shared.path, shared.references);
+        setSuccessResult(taskId, shared.path);
+        return true;
     }
 
-    public void setSuccessResult(String taskId, Path resultPath) {
+    public void setSharedSuccessResult(String taskId, Path resultPath, String resultKey) {
         LogGenerationTask task = getTask(taskId);
-        task.setResultPath(resultPath);
-        task.setStatus(LogGenerationStatus.COMPLETED);
-        log.info("Task ID {} completed successfully. Result path: {}", taskId, resultPath);
+        Path sharedPath;
+        synchronized (sharedResults) {
+            SharedResult shared = sharedResults.get(resultKey);
+            if (shared != null && Files.exists(shared.path)) {
+                // Одинаковый результат успела сгенерировать параллельная задача: оставляем один файл
+                shared.references++;
+            } else {
+                shared = new SharedResult(resultPath, task.getLinesMatched());
+                sharedResults.put(resultKey, shared);
+            }
+            sharedPath = shared.path;
+        }
+        if (!sharedPath.equals(resultPath)) {
+            log.info("Task ID {} produced a duplicate of {}, discarding {}", taskId, sharedPath, resultPath);
+            deleteResultFile(resultPath);
+        }
+        task.setResultKey(resultKey);
+        setSuccessResult(taskId, sharedPath);
     }
 
-    public void setFailureResult(String taskId, String errorMessage) {
-        LogGenerationTask task = getTask(taskId);
-        task.setErrorMessage(errorMessage);
-        task.setStatus(LogGenerationStatus.FAILED);
-        log.error("Task ID {} failed: {}", taskId, errorMessage);
+    @Scheduled(fixedDelayString = "${logs.generation.cleanup-interval-ms:60000}")
+    public void evictExpiredTasks() {
+        evictExpired();
+        deleteOrphanedFiles(expiredBefore());
+    }
+
+    @Override
+    protected void releaseResult(LogGenerationTask task) {
+        Path resultPath = task.getResultPath();
+        String resultKey = task.getResultKey();
+        if (resultPath != null && resultKey != null) {
+            synchronized (sharedResults) {
+                SharedResult shared = sharedResults.get(resultKey);
+                if (shared != null && shared.path.equals(resultPath) && --shared.references > 0) {
+                    log.debug("Generated file {} is still shared by {} task(s)", resultPath, shared.references);
+                    return;
+                }
+                if (shared != null && shared.path.equals(resultPath)) {
+                    sharedResults.remove(resultKey);
+                }
+            }
+        }
+        deleteResultFile(resultPath);
+    }
+
+    private void deleteOrphanedFiles(Instant expiredBefore) {
+        if (!Files.isDirectory(generatedLogsDir)) {
+            return;
+        }
+        // Файлы, оставшиеся от предыдущих запусков приложения, не принадлежат ни одной задаче
+        Set<Path> referenced = new HashSet<>();
+        retainedTasks().forEach(task -> {
+            if (task.getResultPath() != null) {
+                referenced.add(task.getResultPath().toAbsolutePath());
+            }
+        });
+        synchronized (sharedResults) {
+            sharedResults.values().forEach(shared -> referenced.add(shared.path.toAbsolutePath()));
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(generatedLogsDir)) {
+            for (Path file : files) {
+                if (!referenced.contains(file.toAbsolutePath())
+                        && Files.isRegularFile(file)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(expiredBefore)) {
+                    deleteResultFile(file);
+                    log.info("Deleted orphaned generated log file {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not scan generated logs directory {}: {}", generatedLogsDir, e.getMessage());
+        }
+    }
+
+    private static final class SharedResult {
+        private final Path path;
+        private final long linesMatched;
+        private int references = 1;
+
+        private SharedResult(Path path, long linesMatched) {
+            this.path = path;
+            this.linesMatched = linesMatched;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package by.frozzel.springreviewer.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class LogLineParser {
+
+    // Соответствует шаблону из logback-spring.xml:
+    // %d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n
+    private static final Pattern LINE_PATTERN = Pattern.compile(
+            "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}) \\[(.*?)] (TRACE|DEBUG|INFO|WARN|ERROR)\\s+(\\S+) - (.*)$");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final int TIMESTAMP_LENGTH = 23;
+
+    public static final List<String> LEVELS = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    private LogLineParser() {
+    }
+
+    public static LogLine parse(String line) {
+        if (line == null || line.length() < TIMESTAMP_LENGTH || !Character.isDigit(line.charAt(0))) {
+            return null;
+        }
+        Matcher matcher = LINE_PATTERN.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        LocalDateTime timestamp = parseTimestamp(matcher.group(1));
+        if (timestamp == null) {
+            return null;
+        }
+        return new LogLine(timestamp, matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5));
+    }
+
+    public static LocalDateTime parseTimestamp(String line) {
+        if (line == null || line.length() < TIMESTAMP_LENGTH) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(line.substring(0, TIMESTAMP_LENGTH), TIMESTAMP_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public static String normalizeLevel(String level) {
+        if (level == null || level.isBlank()) {
+            return null;
+        }
+        String normalized = level.trim().toUpperCase(Locale.ROOT);
+        return LEVELS.contains(normalized) ? normalized : null;
+    }
+
+    public static boolean isAtLeast(String level, String minLevel) {
+        if (minLevel == null) {
+            return true;
+        }
+        return level != null && LEVELS.indexOf(level) >= LEVELS.indexOf(minLevel);
+    }
+
+    public record LogLine(LocalDateTime timestamp, String thread, String level, String logger, String message) {
+    }
+}
@@ -0,0 +1,303 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.config.AsyncConfig;
+import by.frozzel.springreviewer.dto.LogSearchMatchDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Service
+@Slf4j
+public class LogSearchService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int TIMESTAMP_PREFIX_LENGTH = 23;
+
+    private final LogService logService;
+    private final Executor searchExecutor;
+    private final ObjectMapper objectMapper;
+    private final long chunkSize;
+    private final int maxChunksInFlight;
+    private final Duration timeout;
+
+    public LogSearchService(LogService logService,
+                            @Qualifier(AsyncConfig.LOG_SEARCH_EXECUTOR) Executor searchExecutor,
+                            ObjectMapper objectMapper,
+                            @Value("${logs.search.chunk-size-bytes:8388608}") long chunkSize,
+                            @Value("${logs.search.max-chunks-in-flight:4}") int maxChunksInFlight,
+                            @Value("${logs.search.timeout-seconds:60}") long timeoutSeconds) {
+        this.logService = logService;
+        this.searchExecutor = searchExecutor;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = Math.max(1, maxChunksInFlight);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    public StreamingResponseBody search(Pattern pattern, LocalDate from, LocalDate to, int limit) {
+        // Файлы разрешаются до начала ответа, чтобы отсутствие логов вернуло 404, а не пустой поток
+        List<SearchChunk> chunks = splitIntoChunks(logService.resolveSourceFiles(from, to));
+        log.info("Searching logs {} - {} for '{}' in {} chunk(s), limit {}", from, to, pattern, chunks.size(), limit);
+        return outputStream -> streamMatches(chunks, pattern, limit, outputStream);
+    }
+
+    private List<SearchChunk> splitIntoChunks(List<Path> sources) {
+        List<SearchChunk> chunks = new ArrayList<>();
+        for (Path source : sources) {
+            try {
+                long size = Files.size(source);
+                if (LogService.isCompressed(source) || size <= chunkSize) {
+                    // gzip-архив нельзя читать с произвольного смещения: он сканируется целиком
+                    chunks.add(new SearchChunk(source, 0, size));
+                    continue;
+                }
+                for (long start = 0; start < size; start += chunkSize) {
+                    chunks.add(new SearchChunk(source, start, Math.min(start + chunkSize, size)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read size of " + source, e);
+            }
+        }
+        return chunks;
+    }
+
+    private void streamMatches(List<SearchChunk> chunks, Pattern pattern, int limit, OutputStream outputStream)
+            throws IOException {
+        SearchControl control = new SearchControl(System.nanoTime() + timeout.toNanos());
+        // Вперёд запускается не больше maxChunksInFlight частей: результаты ещё не выданных частей не копятся
+        // в памяти, а один запрос не занимает весь пул поиска
+        Iterator<SearchChunk> pending = chunks.iterator();
+        Deque<CompletableFuture<List<LogSearchMatchDto>>> inFlight = new ArrayDeque<>();
+        while (inFlight.size() < maxChunksInFlight && pending.hasNext()) {
+            inFlight.add(submitScan(pending.next(), pattern, limit, control));
+        }
+
+        int remaining = limit;
+        try {
+            // Части сканируются параллельно, но выдаются по порядку: первые limit совпадений детерминированы
+            while (!inFlight.isEmpty()) {
+                List<LogSearchMatchDto> matches = inFlight.poll().join();
+                if (pending.hasNext()) {
+                    inFlight.add(submitScan(pending.next(), pattern, limit, control));
+                }
+                for (LogSearchMatchDto match : matches) {
+                    if (remaining == 0) {
+                        break;
+                    }
+                    outputStream.write(objectMapper.writeValueAsBytes(match));
+                    outputStream.write('\n');
+                    remaining--;
+                }
+                outputStream.flush();
+                if (remaining == 0) {
+                    log.info("Log search reached limit of {} matches, stopping early", limit);
+                    break;
+                }
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof DeadlineCharSequence.DeadlineExceededException) {
+                log.warn("Log search for '{}' exceeded time limit of {} s, aborting", pattern, timeout.toSeconds());
+                throw new IOException("Log search exceeded time limit of " + timeout.toSeconds() + " s", cause);
+            }
+            log.error("Log search failed: {}", cause.getMessage(), cause);
+            throw cause instanceof UncheckedIOException io ? io.getCause() : new IOException(cause.getMessage(), cause);
+        } finally {
+            control.stopped.set(true);
+            inFlight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private CompletableFuture<List<LogSearchMatchDto>> submitScan(SearchChunk chunk, Pattern pattern, int limit,
+                                                                  SearchControl control) {
+        return CompletableFuture.supplyAsync(() -> scanChunk(chunk, pattern, limit, control), searchExecutor);
+    }
+
+    private static List<LogSearchMatchDto> scanChunk(SearchChunk chunk, Pattern pattern, int limit,
+                                                     SearchControl control) {
+        LineMatcher matcher = new LineMatcher(chunk, pattern, limit, control.deadlineNanos);
+        try {
+            if (LogService.isCompressed(chunk.file())) {
+                scanCompressed(chunk, matcher, control);
+            } else {
+                scanPlain(chunk, matcher, control);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search " + chunk.file(), e);
+        } catch (CancellationException e) {
+            log.debug("Search of {} [{}-{}] stopped: {}", chunk.file(), chunk.start(), chunk.end(), e.getMessage());
+        }
+        return matcher.matches;
+    }
+
+    private static void scanCompressed(SearchChunk chunk, LineMatcher matcher, SearchControl control)
+            throws IOException {
+        try (InputStream in = LogService.openDecompressed(chunk.file())) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            long position = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                checkStopped(control);
+                if (!matcher.feed(buffer, 0, read, position, Long.MAX_VALUE)) {
+                    return;
+                }
+                position += read;
+            }
+            matcher.finish();
+        }
+    }
+
+    private static void scanPlain(SearchChunk chunk, LineMatcher matcher, SearchControl control) throws IOException {
+        try (FileChannel channel = FileChannel.open(chunk.file(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            long position = chunk.start();
+            if (position > 0) {
+                // Строка, начатая в предыдущей части, принадлежит ей: пропускаем её хвост
+                position = skipToNextLine(channel, position - 1, buffer);
+            }
+            long size = channel.size();
+            while (position < size) {
+                checkStopped(control);
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                if (!matcher.feed(buffer.array(), 0, read, position, chunk.end())) {
+                    return;
+                }
+                position += read;
+            }
+            matcher.finish();
+        }
+    }
+
+    private static long skipToNextLine(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void checkStopped(SearchControl control) {
+        if (control.stopped.get() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search finished or client disconnected");
+        }
+        DeadlineCharSequence.checkDeadline(control.deadlineNanos);
+    }
+
+    private record SearchChunk(Path file, long start, long end) {
+    }
+
+    // Общее для всех частей одного поиска: флаг остановки и момент, после которого поиск прерывается
+    private static final class SearchControl {
+        private final AtomicBoolean stopped = new AtomicBoolean(false);
+        private final long deadlineNanos;
+
+        private SearchControl(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    private static final class LineMatcher {
+        private final String fileName;
+        private final Pattern pattern;
+        private final int limit;
+        private final long deadlineNanos;
+        private final List<LogSearchMatchDto> matches = new ArrayList<>();
+        private final ByteArrayOutputStream pendingLine = new ByteArrayOutputStream();
+        private long lineStart = -1;
+        private String lastTimestamp;
+
+        private LineMatcher(SearchChunk chunk, Pattern pattern, int limit, long deadlineNanos) {
+            this.fileName = chunk.file().getFileName().toString();
+            this.pattern = pattern;
+            this.limit = limit;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // Возвращает false, когда часть исчерпана (строка начинается за её границей) или набран лимит
+        private boolean feed(byte[] bytes, int offset, int length, long position, long end) {
+            int segmentStart = offset;
+            for (int i = offset; i < offset + length; i++) {
+                if (lineStart < 0) {
+                    lineStart = position + (i - offset);
+                    if (lineStart >= end) {
+                        return false;
+                    }
+                }
+                if (bytes[i] == '\n') {
+                    pendingLine.write(bytes, segmentStart, i - segmentStart);
+                    if (!completeLine()) {
+                        return false;
+                    }
+                    segmentStart = i + 1;
+                }
+            }
+            pendingLine.write(bytes, segmentStart, offset + length - segmentStart);
+            return true;
+        }
+
+        private void finish() {
+            if (lineStart >= 0 && pendingLine.size() > 0) {
+                completeLine();
+            }
+        }
+
+        private boolean completeLine() {
+            String line = pendingLine.toString(StandardCharsets.UTF_8);
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            if (LogService.isRecordHeader(line)) {
+                lastTimestamp = line.substring(0, TIMESTAMP_PREFIX_LENGTH);
+            }
+            if (pattern.matcher(new DeadlineCharSequence(line, deadlineNanos)).find()) {
+                // Строкам стектрейса приписывается время записи, к которой они относятся
+                matches.add(new LogSearchMatchDto(fileName, lineStart, lastTimestamp, line));
+            }
+            pendingLine.reset();
+            lineStart = -1;
+            return matches.size() < limit;
+        }
+    }
+}
@@ -1,20 +1,47 @@
 package by.frozzel.springreviewer.service;
 
+import by.frozzel.springreviewer.config.AsyncConfig;
 import by.frozzel.springreviewer.exception.ResourceNotFoundException;
-import by.frozzel.springreviewer.model.enums.LogGenerationStatus;
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
+import by.frozzel.springreviewer.model.LogGenerationTask;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -28,18 +55,28 @@ public class LogService {
     private final String logFilePattern;
     private final Path generatedLogsDir;
     private final LogGenerationTaskRegistry taskRegistry;
+    private final Executor extractionExecutor;
 
     private LogService self;
 
+    public static final String GZIP_EXTENSION = ".gz";
+
     private static final DateTimeFormatter LOG_DATE_FORMATTER = DateTimeFormatter
             .ofPattern("yyyy-MM-dd");
     private static final String LOG_RESOURCE = "Log file";
-    private static final long SIMULATED_DELAY_SECONDS = 3;
+    private static final long PROGRESS_UPDATE_MASK = 1023;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    // Метка времени yyyy-MM-dd HH:mm:ss.SSS упорядочивается лексикографически
+    private static final int TIMESTAMP_PREFIX_LENGTH = 23;
+    // Сжатие дневного архива занимает секунды
+    private static final long COMPRESSION_RETRY_AFTER_SECONDS = 5;
 
     public LogService(@Value("${logging.file.name}") String logFileName,
                       @Value("${generated.logs.dir:./generated-logs}") String generatedLogsDirPath,
-                      LogGenerationTaskRegistry taskRegistry) {
+                      LogGenerationTaskRegistry taskRegistry,
+                      @Qualifier(AsyncConfig.LOG_EXTRACTION_EXECUTOR) Executor extractionExecutor) {
         this.taskRegistry = taskRegistry;
+        this.extractionExecutor = extractionExecutor;
 
         Path path = Paths.get(logFileName).toAbsolutePath();
         this.logFilePathString = path.toString();
@@ -72,61 +109,150 @@ public class LogService {
     }
 
 
-    public void initiateLogGeneration(String taskId, LocalDate date) {
+    public void initiateLogGeneration(String taskId, LocalDate from, LocalDate to, LogFilter filter) {
         log.info("Initiating log generation for task ID {} via self-proxy.", taskId);
         if (self == null) {
             log.error("Self-proxy LogService is null! Async call will likely fail. Check Spring configuration/initialization.");
             throw new IllegalStateException("Self-proxy for LogService was not injected correctly via setter.");
         }
-        self.generateLogFileAsync(taskId, date);
+        if (completeFromSharedResult(taskId, from, to, filter)) {
+            return;
+        }
+        try {
+            Future<Void> execution = self.generateLogFileAsync(taskId, from, to, filter);
+            taskRegistry.getTask(taskId).setExecution(execution);
+        } catch (TaskRejectedException e) {
+            taskRegistry.setFailureResult(taskId, "Rejected: log generation queue is full");
+            throw new ServiceUnavailableException("Log generation queue is full, try again later",
+                    taskRegistry.getRetryAfterSeconds());
+        }
+    }
+
+
+    // Готовый результат отдаётся сразу, не занимая место в очереди генерации
+    private boolean completeFromSharedResult(String taskId, LocalDate from, LocalDate to, LogFilter filter) {
+        try {
+            List<Path> sourceLogPaths = resolveSourceFiles(from, to);
+            String resultKey = buildResultKey(sourceLogPaths, filter);
+            long totalBytes = 0;
+            for (Path source : sourceLogPaths) {
+                totalBytes += Files.size(source);
+            }
+            // Задача остаётся в PENDING, пока результат не найден: иначе асинхронный запуск не сможет её начать
+            taskRegistry.getTask(taskId).setTotalBytes(totalBytes);
+            return taskRegistry.completeFromSharedResult(taskId, resultKey);
+        } catch (ResourceNotFoundException | ServiceUnavailableException | IOException e) {
+            // Ошибку с описанием зафиксирует асинхронная задача
+            return false;
+        }
     }
 
 
     @Async("logGenerationTaskExecutor")
-    public void generateLogFileAsync(String taskId, LocalDate date) {
+    public Future<Void> generateLogFileAsync(String taskId, LocalDate from, LocalDate to, LogFilter filter) {
         log.info(">>> ASYNC METHOD ENTERED for task ID {} on thread {}", taskId, Thread.currentThread().getName());
-        Path sourceLogPath = null;
+        List<Path> sourceLogPaths = List.of();
+        Path targetPath = null;
         try {
             if (this.taskRegistry == null) {
                 log.error("!!! taskRegistry is NULL inside async method for task ID {} (should be final!)!!!", taskId);
                 throw new IllegalStateException("taskRegistry is null within async execution for task " + taskId);
             }
 
-            sourceLogPath = getLogFilePathForDate(date);
-            log.info("Source log file found for task {}: {}", taskId, sourceLogPath);
+            LogGenerationTask task = taskRegistry.getTask(taskId);
+            if (task.isCancelRequested()) {
+                throw new CancellationException("Task was cancelled before it started");
+            }
+
+            sourceLogPaths = resolveSourceFiles(from, to);
+            log.info("Source log files found for task {}: {}", taskId, sourceLogPaths);
 
-            taskRegistry.updateStatus(taskId, LogGenerationStatus.RUNNING);
+            long totalBytes = 0;
+            for (Path source : sourceLogPaths) {
+                totalBytes += Files.size(source);
+            }
+            taskRegistry.markRunning(taskId, totalBytes);
             log.info(">>> Status updated to RUNNING for task ID {} on thread {}", taskId, Thread.currentThread().getName());
 
-            log.info("Task {} - Simulating work ({} seconds)... on thread {}", taskId, SIMULATED_DELAY_SECONDS, Thread.currentThread().getName());
-            TimeUnit.SECONDS.sleep(SIMULATED_DELAY_SECONDS);
-            log.info("Task {} - Simulation finished. on thread {}", taskId, Thread.currentThread().getName());
+            // Одинаковый результат могла сгенерировать другая задача, пока эта стояла в очереди
+            String resultKey = buildResultKey(sourceLogPaths, filter);
+            if (taskRegistry.completeFromSharedResult(taskId, resultKey)) {
+                return CompletableFuture.completedFuture(null);
+            }
 
-            String formattedDate = date.format(LOG_DATE_FORMATTER);
-            String generatedFileName = String.format("generated_log_%s_%s.log", formattedDate, taskId.substring(0, 8));
-            Path targetPath = generatedLogsDir.resolve(generatedFileName);
+            String formattedRange = from.isEqual(to)
+                    ? from.format(LOG_DATE_FORMATTER)
+                    : from.format(LOG_DATE_FORMATTER) + "_" + to.format(LOG_DATE_FORMATTER);
+            String generatedFileName = String.format("generated_log_%s_%s.log" + GZIP_EXTENSION,
+                    formattedRange, taskId.substring(0, 8));
+            targetPath = generatedLogsDir.resolve(generatedFileName);
 
-            Files.copy(sourceLogPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
-            log.info("Task {} - Successfully copied log content from {} to: {}", taskId, sourceLogPath, targetPath);
+            if (sourceLogPaths.size() == 1) {
+                extractLines(task, sourceLogPaths.get(0), filter, targetPath);
+            } else {
+                extractInParallel(task, sourceLogPaths, filter, targetPath);
+            }
+            log.info("Task {} - Successfully extracted {} lines from {} file(s) to: {}", taskId,
+                    task.getLinesMatched(), sourceLogPaths.size(), targetPath);
 
-            taskRegistry.setSuccessResult(taskId, targetPath);
+            taskRegistry.setSharedSuccessResult(taskId, targetPath, resultKey);
 
+        } catch (CancellationException e) {
+            log.info("Task {} stopped: {}", taskId, e.getMessage());
+            deleteQuietly(targetPath);
+            taskRegistry.setCancelledResult(taskId);
         } catch (ResourceNotFoundException e) {
-            log.warn("Task {} failed: Source log file not found or not accessible for date {}. Reason: {}", taskId, date, e.getMessage());
-            taskRegistry.setFailureResult(taskId, "Source log file not found or not accessible for date " + date + ": " + e.getMessage());
+            log.warn("Task {} failed: Source log file not found or not accessible for {} - {}. Reason: {}", taskId, from, to, e.getMessage());
+            taskRegistry.setFailureResult(taskId, "Source log file not found or not accessible for " + describeRange(from, to) + ": " + e.getMessage());
+        } catch (ServiceUnavailableException e) {
+            log.warn("Task {} failed: {}", taskId, e.getMessage());
+            taskRegistry.setFailureResult(taskId, e.getMessage());
         } catch (IOException e) {
-            log.error("Task {} failed during log file copying from {} to generated file.", taskId, sourceLogPath != null ? sourceLogPath : "unknown source", e);
+            log.error("Task {} failed during log file copying from {} to generated file.", taskId, sourceLogPaths, e);
+            deleteQuietly(targetPath);
             taskRegistry.setFailureResult(taskId, "Failed to copy log file content: " + e.getMessage());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Task {} was interrupted during simulation.", taskId, e);
-            taskRegistry.setFailureResult(taskId, "Task was interrupted");
         } catch (Exception e) {
             log.error("Task {} failed with an unexpected error.", taskId, e);
+            deleteQuietly(targetPath);
             taskRegistry.setFailureResult(taskId, "An unexpected error occurred: " + e.getMessage());
         } finally {
             log.info(">>> ASYNC METHOD EXITING for task ID {} on thread {}", taskId, Thread.currentThread().getName());
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // Исходные файлы идентифицируются путём, размером и временем изменения: архивы неизменны,
+    // а дописанный активный файл даст новый ключ
+    private static String buildResultKey(List<Path> sources, LogFilter filter) throws IOException {
+        StringBuilder key = new StringBuilder();
+        for (Path source : sources) {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            key.append(source.toAbsolutePath()).append(':').append(attributes.size()).append(':')
+                    .append(attributes.lastModifiedTime().toMillis()).append(';');
+        }
+        return key.append(filter.cacheKey()).toString();
+    }
+
+    public List<Path> resolveSourceFiles(LocalDate from, LocalDate to) {
+        if (from.isEqual(to)) {
+            return List.of(getLogFilePathForDate(from));
+        }
+        List<Path> sources = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            try {
+                sources.add(getLogFilePathForDate(day));
+            } catch (ResourceNotFoundException e) {
+                log.info("No log file for {} within requested range, skipping: {}", day, e.getMessage());
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new ResourceNotFoundException(LOG_RESOURCE, "date range", describeRange(from, to));
+        }
+        return sources;
+    }
+
+    private static String describeRange(LocalDate from, LocalDate to) {
+        return from.isEqual(to) ? "date " + from : "dates " + from + " - " + to;
     }
 
     public Path getLogFilePathForDate(LocalDate date) {
@@ -141,8 +267,10 @@ public class LogService {
             logPathToRead = Paths.get(logFilePathString);
             log.info("Requested logs for today ({}), using active file: {}", formattedDate, logPathToRead);
         } else {
-            String specificLogFilePath = String.format(logFilePattern, formattedDate);
-            logPathToRead = Paths.get(specificLogFilePath);
+            Path plainArchive = Paths.get(String.format(logFilePattern, formattedDate));
+            Path compressedArchive = Paths.get(plainArchive + GZIP_EXTENSION);
+            // Несжатый архив читается, если он есть (например, сжатие в logback-spring.xml выключено)
+            logPathToRead = Files.exists(plainArchive) ? plainArchive : compressedArchive;
             log.info("Requested logs for past date ({}), using archived file: {}", formattedDate, logPathToRead);
         }
 
@@ -160,6 +288,345 @@ public class LogService {
             throw new ResourceNotFoundException(LOG_RESOURCE, "path", logPathToRead + " (permission denied)");
         }
 
+        // Проверяется после существования .gz: .tmp создаётся раньше .gz и удаляется позже,
+        // поэтому существующий .gz без .tmp уже дописан
+        if (isCompressed(logPathToRead) && isBeingCompressed(logPathToRead)) {
+            log.info("Archive {} is still being compressed, asking client to retry", logPathToRead);
+            throw new ServiceUnavailableException("Log archive for " + formattedDate
+                    + " is still being compressed, try again later", COMPRESSION_RETRY_AFTER_SECONDS);
+        }
         return logPathToRead;
     }
-}
\ No newline at end of file
+
+    // При ротации Logback переименовывает активный файл в <активный файл><nanoTime>.tmp и сжимает уже его,
+    // дописывая .gz прямо в каталог архивов; .tmp удаляется только после того, как .gz дописан.
+    // Пока такой .tmp есть, недописан самый свежий .gz: его сейчас и пишет сжатие
+    private boolean isBeingCompressed(Path compressedArchive) {
+        Path activeFile = Paths.get(logFilePathString);
+        String inFlightPattern = activeFile.getFileName() + "*.tmp";
+        try (DirectoryStream<Path> inFlight = Files.newDirectoryStream(activeFile.getParent(), inFlightPattern)) {
+            if (!inFlight.iterator().hasNext()) {
+                return false;
+            }
+        } catch (IOException e) {
+            log.warn("Could not check for in-flight log compression: {}", e.getMessage());
+            return false;
+        }
+        try (DirectoryStream<Path> archives = Files.newDirectoryStream(compressedArchive.getParent(),
+                "*" + GZIP_EXTENSION)) {
+            FileTime archiveModified = Files.getLastModifiedTime(compressedArchive);
+            for (Path archive : archives) {
+                if (!archive.equals(compressedArchive)
+                        && Files.getLastModifiedTime(archive).compareTo(archiveModified) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            // Архив мог исчезнуть или смениться во время проверки - считаем, что сжатие ещё идёт
+            log.warn("Could not compare archive {} with other archives: {}", compressedArchive, e.getMessage());
+            return true;
+        }
+    }
+
+    public static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(GZIP_EXTENSION);
+    }
+
+    public static InputStream openDecompressed(Path path) throws IOException {
+        InputStream raw = Files.newInputStream(path);
+        if (!isCompressed(path)) {
+            return raw;
+        }
+        try {
+            return new GZIPInputStream(raw, GZIP_BUFFER_SIZE);
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    private ExtractedPart extractLines(LogGenerationTask task, Path source, LogFilter filter, Path target)
+            throws IOException {
+        try (CountingInputStream counting = new CountingInputStream(Files.newInputStream(source));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     isCompressed(source) ? new GZIPInputStream(counting, GZIP_BUFFER_SIZE) : counting,
+                     StandardCharsets.UTF_8), GZIP_BUFFER_SIZE);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(Files.newOutputStream(target), GZIP_BUFFER_SIZE),
+                     StandardCharsets.UTF_8), GZIP_BUFFER_SIZE)) {
+            long linesRead = 0;
+            long linesWritten = 0;
+            long reportedBytes = 0;
+            long reportedLines = 0;
+            boolean currentRecordMatches = true;
+            String firstTimestamp = null;
+            String lastTimestamp = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesRead++;
+                boolean header = isRecordHeader(line);
+                if (header && !filter.isEmpty()) {
+                    LogLineParser.LogLine parsed = LogLineParser.parse(line);
+                    currentRecordMatches = parsed != null && filter.matches(parsed.level(), parsed.logger());
+                }
+                // Строки продолжения (стектрейсы) попадают в результат вместе со своей записью
+                if (currentRecordMatches) {
+                    if (header) {
+                        String timestamp = line.substring(0, TIMESTAMP_PREFIX_LENGTH);
+                        firstTimestamp = firstTimestamp == null ? timestamp : firstTimestamp;
+                        lastTimestamp = timestamp;
+                    }
+                    writer.write(line);
+                    writer.write('\n');
+                    linesWritten++;
+                }
+                // Прогресс и флаг отмены проверяются пачками, чтобы не платить за атомарные операции на каждой строке
+                if ((linesRead & PROGRESS_UPDATE_MASK) == 0) {
+                    task.addProgress(counting.getCount() - reportedBytes, linesWritten - reportedLines);
+                    reportedBytes = counting.getCount();
+                    reportedLines = linesWritten;
+                    if (task.isCancelRequested()) {
+                        throw new CancellationException("Task was cancelled after " + linesRead + " lines of " + source);
+                    }
+                }
+            }
+            task.addProgress(counting.getCount() - reportedBytes, linesWritten - reportedLines);
+            return new ExtractedPart(target, firstTimestamp, lastTimestamp);
+        }
+    }
+
+    private void extractInParallel(LogGenerationTask task, List<Path> sources, LogFilter filter, Path target)
+            throws IOException {
+        List<CompletableFuture<ExtractedPart>> futures = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            Path source = sources.get(i);
+            Path part = partPath(target, i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return extractLines(task, source, filter, part);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, extractionExecutor));
+        }
+
+        List<ExtractedPart> parts = new ArrayList<>(sources.size());
+        try {
+            RuntimeException cancellation = null;
+            IOException ioFailure = null;
+            for (CompletableFuture<ExtractedPart> future : futures) {
+                // Дожидаемся всех частей, чтобы первопричина сбоя не подменялась отменой остальных
+                try {
+                    parts.add(awaitPart(future, task));
+                } catch (CancellationException e) {
+                    cancellation = cancellation == null ? e : cancellation;
+                } catch (IOException e) {
+                    ioFailure = ioFailure == null ? e : ioFailure;
+                }
+            }
+            if (ioFailure != null) {
+                throw ioFailure;
+            }
+            if (cancellation != null) {
+                throw cancellation;
+            }
+            if (partsOverlap(parts)) {
+                log.info("Extracted parts for task {} overlap in time, merging by timestamp", task.getId());
+                mergeByTimestamp(parts, target);
+            } else {
+                concatenate(parts, target);
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+            for (int i = 0; i < sources.size(); i++) {
+                deleteQuietly(partPath(target, i));
+            }
+        }
+    }
+
+    private static Path partPath(Path target, int index) {
+        return target.resolveSibling(target.getFileName() + ".part" + index + GZIP_EXTENSION);
+    }
+
+    private static ExtractedPart awaitPart(CompletableFuture<ExtractedPart> future, LogGenerationTask task)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.setCancelRequested(true);
+            throw new CancellationException("Task was interrupted while waiting for extraction");
+        } catch (ExecutionException e) {
+            task.setCancelRequested(true);
+            Throwable cause = e.getCause();
+            if (cause instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Log extraction failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static boolean partsOverlap(List<ExtractedPart> parts) {
+        String previousLast = null;
+        for (ExtractedPart part : parts) {
+            if (part.firstTimestamp() == null) {
+                continue;
+            }
+            if (previousLast != null && part.firstTimestamp().compareTo(previousLast) < 0) {
+                return true;
+            }
+            previousLast = part.lastTimestamp();
+        }
+        return false;
+    }
+
+    private static void concatenate(List<ExtractedPart> parts, Path target) throws IOException {
+        // Каждая часть - самостоятельный gzip-member, их последовательность - корректный gzip-файл
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ExtractedPart part : parts) {
+                try (FileChannel in = FileChannel.open(part.path(), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void mergeByTimestamp(List<ExtractedPart> parts, Path target) throws IOException {
+        PriorityQueue<RecordCursor> queue = new PriorityQueue<>();
+        List<RecordCursor> cursors = new ArrayList<>(parts.size());
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(target), GZIP_BUFFER_SIZE),
+                StandardCharsets.UTF_8), GZIP_BUFFER_SIZE)) {
+            for (int i = 0; i < parts.size(); i++) {
+                RecordCursor cursor = new RecordCursor(openDecompressed(parts.get(i).path()), i);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RecordCursor cursor = queue.poll();
+                writer.write(cursor.record);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (RecordCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    static boolean isRecordHeader(String line) {
+        return line.length() >= TIMESTAMP_PREFIX_LENGTH
+                && Character.isDigit(line.charAt(0))
+                && line.charAt(4) == '-'
+                && line.charAt(10) == ' ';
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete partial generated log file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private record ExtractedPart(Path path, String firstTimestamp, String lastTimestamp) {
+    }
+
+    private static final class RecordCursor implements Comparable<RecordCursor>, Closeable {
+        private final BufferedReader reader;
+        private final int order;
+        private String pendingHeader;
+        private String record;
+        private String timestamp;
+
+        private RecordCursor(InputStream in, int order) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), GZIP_BUFFER_SIZE);
+            this.order = order;
+        }
+
+        // Читает следующую запись целиком: строку с меткой времени и её строки продолжения
+        private boolean advance() throws IOException {
+            String header = pendingHeader != null ? pendingHeader : reader.readLine();
+            pendingHeader = null;
+            if (header == null) {
+                return false;
+            }
+            StringBuilder builder = new StringBuilder(header).append('\n');
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isRecordHeader(line)) {
+                    pendingHeader = line;
+                    break;
+                }
+                builder.append(line).append('\n');
+            }
+            record = builder.toString();
+            timestamp = isRecordHeader(header) ? header.substring(0, TIMESTAMP_PREFIX_LENGTH) : "";
+            return true;
+        }
+
+        @Override
+        public int compareTo(RecordCursor other) {
+            int byTimestamp = timestamp.compareTo(other.timestamp);
+            return byTimestamp != 0 ? byTimestamp : Integer.compare(order, other.order);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package by.frozzel.springreviewer.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class LogStatsAggregate {
+
+    private static final int FORMAT_MAGIC = 0x4C535441;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MINUTE_PREFIX_LENGTH = 16;
+    private static final Pattern EXCEPTION_PATTERN = Pattern.compile(
+            "^\\s*(?:Caused by: )?((?:[a-zA-Z_$][\\w$]*\\.)+[A-Z][\\w$]*(?:Exception|Error|Throwable))(?::.*)?$");
+
+    private final Map<String, Long> byLevel = new HashMap<>();
+    private final Map<String, Long> byLogger = new HashMap<>();
+    private final Map<String, Long> perMinute = new HashMap<>();
+    private final Map<String, Long> exceptions = new HashMap<>();
+    private long totalRecords;
+
+    void accept(String line) {
+        LogLineParser.LogLine parsed = LogLineParser.parse(line);
+        if (parsed != null) {
+            totalRecords++;
+            byLevel.merge(parsed.level(), 1L, Long::sum);
+            byLogger.merge(parsed.logger(), 1L, Long::sum);
+            perMinute.merge(line.substring(0, MINUTE_PREFIX_LENGTH), 1L, Long::sum);
+            return;
+        }
+        // Имена исключений берутся из строк стектрейса: "java.lang.X: msg" и "Caused by: ..."
+        if (!line.isEmpty() && !line.startsWith("\tat ")) {
+            Matcher matcher = EXCEPTION_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                exceptions.merge(matcher.group(1), 1L, Long::sum);
+            }
+        }
+    }
+
+    void mergeFrom(LogStatsAggregate other) {
+        totalRecords += other.totalRecords;
+        other.byLevel.forEach((key, value) -> byLevel.merge(key, value, Long::sum));
+        other.byLogger.forEach((key, value) -> byLogger.merge(key, value, Long::sum));
+        other.perMinute.forEach((key, value) -> perMinute.merge(key, value, Long::sum));
+        other.exceptions.forEach((key, value) -> exceptions.merge(key, value, Long::sum));
+    }
+
+    LogStatsAggregate copy() {
+        LogStatsAggregate copy = new LogStatsAggregate();
+        copy.mergeFrom(this);
+        return copy;
+    }
+
+    long getTotalRecords() {
+        return totalRecords;
+    }
+
+    Map<String, Long> getByLevel() {
+        return byLevel;
+    }
+
+    Map<String, Long> getByLogger() {
+        return byLogger;
+    }
+
+    Map<String, Long> getPerMinute() {
+        return perMinute;
+    }
+
+    Map<String, Long> getExceptions() {
+        return exceptions;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(totalRecords);
+        writeMap(out, byLevel);
+        writeMap(out, byLogger);
+        writeMap(out, perMinute);
+        writeMap(out, exceptions);
+    }
+
+    static LogStatsAggregate readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported log stats cache format");
+        }
+        LogStatsAggregate aggregate = new LogStatsAggregate();
+        aggregate.totalRecords = in.readLong();
+        readMap(in, aggregate.byLevel);
+        readMap(in, aggregate.byLogger);
+        readMap(in, aggregate.perMinute);
+        readMap(in, aggregate.exceptions);
+        return aggregate;
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Long> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, Long> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    private static void readMap(DataInputStream in, Map<String, Long> target) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            target.put(in.readUTF(), in.readLong());
+        }
+    }
+}
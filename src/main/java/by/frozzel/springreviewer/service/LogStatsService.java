@@ -0,0 +1,263 @@
+package by.frozzel.springreviewer.service;
+
+import by.frozzel.springreviewer.config.AsyncConfig;
+import by.frozzel.springreviewer.dto.LogStatsDto;
+import by.frozzel.springreviewer.exception.LogAccessException;
+import by.frozzel.springreviewer.exception.ResourceNotFoundException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class LogStatsService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int TOP_EXCEPTIONS_LIMIT = 10;
+    private static final String CACHE_EXTENSION = ".stats";
+
+    private final LogService logService;
+    private final Executor extractionExecutor;
+    private final Path cacheDir;
+
+    // Инкрементальный агрегат активного файла: пересчитывается только от последнего смещения
+    private final Object activeLock = new Object();
+    private LogStatsAggregate activeAggregate = new LogStatsAggregate();
+    private long activeOffset;
+    private Object activeFileKey;
+
+    public LogStatsService(LogService logService,
+                           @Qualifier(AsyncConfig.LOG_EXTRACTION_EXECUTOR) Executor extractionExecutor,
+                           @Value("${logs.stats.cache-dir:./log-stats-cache}") String cacheDirPath) {
+        this.logService = logService;
+        this.extractionExecutor = extractionExecutor;
+        this.cacheDir = Paths.get(cacheDirPath).toAbsolutePath();
+        try {
+            Files.createDirectories(this.cacheDir);
+        } catch (IOException e) {
+            log.error("Could not create log stats cache directory: {}", this.cacheDir, e);
+            throw new UncheckedIOException("Failed to initialize log stats cache directory", e);
+        }
+        deleteTemporaryFiles();
+    }
+
+    public LogStatsDto getStats(LocalDate from, LocalDate to) {
+        Path activeFile = Paths.get(logService.getLogFilePathString());
+        List<CompletableFuture<LogStatsAggregate>> futures = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Path source;
+            try {
+                source = logService.getLogFilePathForDate(day);
+            } catch (ResourceNotFoundException e) {
+                log.debug("No log file for {}, skipping in stats: {}", day, e.getMessage());
+                continue;
+            }
+            boolean active = source.equals(activeFile);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> active ? aggregateActiveFile(source) : aggregateArchivedFile(source),
+                    extractionExecutor));
+        }
+        if (futures.isEmpty()) {
+            throw new ResourceNotFoundException("Log file", "date range", from + " - " + to);
+        }
+
+        LogStatsAggregate total = new LogStatsAggregate();
+        try {
+            futures.forEach(future -> total.mergeFrom(future.join()));
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new LogAccessException("Failed to aggregate log statistics: " + cause.getMessage(), cause);
+        }
+        return toDto(from, to, total);
+    }
+
+    private LogStatsAggregate aggregateArchivedFile(Path source) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            Path cacheFile = cacheDir.resolve(source.getFileName() + "." + attributes.size() + "-"
+                    + attributes.lastModifiedTime().toMillis() + CACHE_EXTENSION);
+            if (Files.exists(cacheFile)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                    return LogStatsAggregate.readFrom(in);
+                } catch (IOException e) {
+                    log.warn("Discarding unreadable log stats cache {}: {}", cacheFile, e.getMessage());
+                }
+            }
+
+            LogStatsAggregate aggregate = new LogStatsAggregate();
+            try (InputStream in = LogService.openDecompressed(source);
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                         READ_BUFFER_SIZE)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    aggregate.accept(line);
+                }
+            }
+            writeCache(cacheFile, aggregate);
+            deleteStaleCaches(source, cacheFile);
+            log.info("Computed and cached log stats for {} ({} records)", source, aggregate.getTotalRecords());
+            return aggregate;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCache(Path cacheFile, LogStatsAggregate aggregate) {
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp" + Thread.currentThread().getId());
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                aggregate.writeTo(out);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write log stats cache {}: {}", cacheFile, e.getMessage());
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // временный файл будет перезаписан при следующей попытке
+            }
+        }
+    }
+
+    // Кэш прежних версий того же архива (другие размер и время изменения, а также несжатый вариант
+    // после сжатия logback) больше не будет прочитан
+    private void deleteStaleCaches(Path source, Path currentCache) {
+        String name = source.getFileName().toString();
+        String baseName = name.endsWith(LogService.GZIP_EXTENSION)
+                ? name.substring(0, name.length() - LogService.GZIP_EXTENSION.length())
+                : name;
+        Pattern stalePattern = Pattern.compile(Pattern.quote(baseName) + "(" + Pattern.quote(LogService.GZIP_EXTENSION)
+                + ")?\\.\\d+-\\d+" + Pattern.quote(CACHE_EXTENSION));
+        try (DirectoryStream<Path> caches = Files.newDirectoryStream(cacheDir, baseName + "*" + CACHE_EXTENSION)) {
+            for (Path cache : caches) {
+                if (!cache.equals(currentCache) && stalePattern.matcher(cache.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(cache);
+                    log.debug("Deleted stale log stats cache {}", cache);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete stale log stats caches for {}: {}", source, e.getMessage());
+        }
+    }
+
+    // Временные файлы, оставшиеся после аварийного завершения записи кэша
+    private void deleteTemporaryFiles() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*" + CACHE_EXTENSION + ".tmp*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up log stats cache directory {}: {}", cacheDir, e.getMessage());
+        }
+    }
+
+    private LogStatsAggregate aggregateActiveFile(Path source) {
+        synchronized (activeLock) {
+            try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                Object fileKey = Files.readAttributes(source, BasicFileAttributes.class).fileKey();
+                long size = channel.size();
+                if (size < activeOffset || !Objects.equals(fileKey, activeFileKey)) {
+                    // Файл ротирован или пересоздан: начинаем агрегирование заново
+                    activeAggregate = new LogStatsAggregate();
+                    activeOffset = 0;
+                    activeFileKey = fileKey;
+                }
+                activeOffset = consumeCompleteLines(channel, activeOffset, size, activeAggregate);
+                return activeAggregate.copy();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static long consumeCompleteLines(FileChannel channel, long offset, long size,
+                                             LogStatsAggregate aggregate) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        long position = offset;
+        long consumed = offset;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    pending.write(bytes, lineStart, i - lineStart);
+                    aggregate.accept(stripCarriageReturn(pending.toString(StandardCharsets.UTF_8)));
+                    pending.reset();
+                    lineStart = i + 1;
+                    consumed = position + lineStart;
+                }
+            }
+            pending.write(bytes, lineStart, read - lineStart);
+            position += read;
+        }
+        // Незавершённая последняя строка будет учтена при следующем запросе
+        return consumed;
+    }
+
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    private static LogStatsDto toDto(LocalDate from, LocalDate to, LogStatsAggregate aggregate) {
+        List<LogStatsDto.ExceptionCount> topExceptions = aggregate.getExceptions().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_EXCEPTIONS_LIMIT)
+                .map(entry -> new LogStatsDto.ExceptionCount(entry.getKey(), entry.getValue()))
+                .toList();
+
+        Map<String, Long> byLevel = new LinkedHashMap<>();
+        LogLineParser.LEVELS.forEach(level -> {
+            Long count = aggregate.getByLevel().get(level);
+            if (count != null) {
+                byLevel.put(level, count);
+            }
+        });
+
+        Map<String, Long> byLogger = new LinkedHashMap<>();
+        aggregate.getByLogger().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> byLogger.put(entry.getKey(), entry.getValue()));
+
+        return new LogStatsDto(from, to, aggregate.getTotalRecords(), byLevel, byLogger,
+                new TreeMap<>(aggregate.getPerMinute()), topExceptions);
+    }
+}
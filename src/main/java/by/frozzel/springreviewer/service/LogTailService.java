@@ -0,0 +1,312 @@
+package by.frozzel.springreviewer.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+@Slf4j
+public class LogTailService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String LOG_EVENT_NAME = "log";
+
+    private final Path logFile;
+    private final long pollIntervalMs;
+    private final long emitterTimeoutMs;
+    private final int subscriberBufferSize;
+    private final int maxLineBytes;
+
+    private final Set<TailSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService follower = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("LogTail-follower-"));
+    private final ExecutorService senders;
+
+    private ScheduledFuture<?> followTask;
+
+    // Состояние ниже изменяется только потоком follower. Канал держится открытым между опросами:
+    // после ротации он продолжает указывать на старый файл, и его хвост дочитывается до переключения
+    private FileChannel channel;
+    private Object fileKey;
+    private long offset;
+    // Байты строки сверх maxLineBytes отбрасываются до ближайшего перевода строки
+    private final ByteArrayOutputStream pendingLine = new ByteArrayOutputStream();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private String lastLevel;
+    private String lastLogger;
+
+    public LogTailService(@Value("${logging.file.name}") String logFileName,
+                          @Value("${logs.tail.poll-interval-ms:500}") long pollIntervalMs,
+                          @Value("${logs.tail.timeout-ms:1800000}") long emitterTimeoutMs,
+                          @Value("${logs.tail.buffer-size:1000}") int subscriberBufferSize,
+                          @Value("${logs.tail.sender-threads:4}") int senderThreads,
+                          @Value("${logs.tail.max-line-bytes:65536}") int maxLineBytes) {
+        this.logFile = Paths.get(logFileName).toAbsolutePath();
+        this.pollIntervalMs = pollIntervalMs;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.maxLineBytes = maxLineBytes;
+        this.senders = Executors.newFixedThreadPool(senderThreads,
+                new CustomizableThreadFactory("LogTail-sender-"));
+    }
+
+    public SseEmitter subscribe(LogFilter filter) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        TailSubscriber subscriber = new TailSubscriber(emitter, filter);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        startFollowerIfNeeded();
+        log.info("Log tail subscriber added (level={}, logger={}). Active subscribers: {}",
+                filter.minLevel(), filter.loggerFilter(), subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unsubscribe(TailSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.info("Log tail subscriber removed. Active subscribers: {}", subscribers.size());
+        }
+        stopFollowerIfIdle();
+    }
+
+    private synchronized void startFollowerIfNeeded() {
+        if (followTask != null) {
+            return;
+        }
+        follower.execute(this::resetToEndOfFile);
+        followTask = follower.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs,
+                TimeUnit.MILLISECONDS);
+        log.info("Started log file follower for {}", logFile);
+    }
+
+    private synchronized void stopFollowerIfIdle() {
+        if (followTask != null && subscribers.isEmpty()) {
+            followTask.cancel(false);
+            followTask = null;
+            follower.execute(this::closeChannel);
+            log.info("Stopped log file follower: no subscribers left");
+        }
+    }
+
+    private void resetToEndOfFile() {
+        closeChannel();
+        try {
+            if (openChannel()) {
+                offset = channel.size();
+            }
+        } catch (IOException e) {
+            log.warn("Could not open {}: {}", logFile, e.getMessage());
+            closeChannel();
+        }
+    }
+
+    private void poll() {
+        try {
+            if (channel == null && !openChannel()) {
+                return;
+            }
+            readToEnd();
+            if (rotated()) {
+                // Хвост старого файла уже прочитан; незавершённая последняя строка в нём больше не допишется
+                log.debug("Log file {} was rotated, switching to the new file", logFile);
+                flushPendingLine();
+                closeChannel();
+                if (openChannel()) {
+                    readToEnd();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Error while following log file {}: {}", logFile, e.getMessage());
+            closeChannel();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error in log file follower", e);
+        }
+    }
+
+    private boolean openChannel() throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        channel = FileChannel.open(logFile, StandardOpenOption.READ);
+        fileKey = Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+        offset = 0;
+        pendingLine.reset();
+        return true;
+    }
+
+    // Ротация определяется по смене файла (inode) под тем же именем, а если fileKey недоступен - по уменьшению
+    // размера. Сравнение размеров само по себе пропускает новый файл, успевший вырасти больше старого смещения
+    private boolean rotated() throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        Object currentKey = Files.readAttributes(logFile, BasicFileAttributes.class).fileKey();
+        if (currentKey != null && fileKey != null) {
+            return !Objects.equals(currentKey, fileKey) || channel.size() < offset;
+        }
+        return Files.size(logFile) < offset;
+    }
+
+    private void readToEnd() throws IOException {
+        long size = channel.size();
+        if (size < offset) {
+            // Тот же файл усечён (copytruncate): читаем его с начала
+            offset = 0;
+            pendingLine.reset();
+        }
+        while (offset < size) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            offset += read;
+            readBuffer.flip();
+            splitLines(readBuffer);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Could not close {}: {}", logFile, e.getMessage());
+            }
+            channel = null;
+        }
+        fileKey = null;
+    }
+
+    private void splitLines(ByteBuffer buffer) {
+        byte[] bytes = buffer.array();
+        int lineStart = buffer.position();
+        int limit = buffer.limit();
+        for (int i = lineStart; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                appendToPendingLine(bytes, lineStart, i - lineStart);
+                flushPendingLine();
+                lineStart = i + 1;
+            }
+        }
+        appendToPendingLine(bytes, lineStart, limit - lineStart);
+    }
+
+    private void appendToPendingLine(byte[] bytes, int from, int length) {
+        int room = maxLineBytes - pendingLine.size();
+        if (room > 0) {
+            pendingLine.write(bytes, from, Math.min(length, room));
+        }
+    }
+
+    private void flushPendingLine() {
+        if (pendingLine.size() > 0) {
+            dispatch(pendingLine.toString(StandardCharsets.UTF_8));
+        }
+        pendingLine.reset();
+    }
+
+    private void dispatch(String rawLine) {
+        String line = rawLine.endsWith("\r") ? rawLine.substring(0, rawLine.length() - 1) : rawLine;
+        LogLineParser.LogLine parsed = LogLineParser.parse(line);
+        if (parsed != null) {
+            lastLevel = parsed.level();
+            lastLogger = parsed.logger();
+        }
+        // Строки продолжения (стектрейсы) наследуют уровень и логгер предыдущей записи
+        for (TailSubscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(lastLevel, lastLogger)) {
+                subscriber.offer(line);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        follower.shutdownNow();
+        closeChannel();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private final class TailSubscriber {
+        private final SseEmitter emitter;
+        private final LogFilter filter;
+        private final BlockingQueue<String> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private TailSubscriber(SseEmitter emitter, LogFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = new ArrayBlockingQueue<>(subscriberBufferSize);
+        }
+
+        private void offer(String line) {
+            if (!buffer.offer(line)) {
+                log.warn("Log tail subscriber is too slow (buffer of {} lines is full), dropping it",
+                        subscriberBufferSize);
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                String line;
+                while ((line = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(LOG_EVENT_NAME).data(line));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Log tail subscriber disconnected: {}", e.getMessage());
+                buffer.clear();
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() && subscribers.contains(this)) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package by.frozzel.springreviewer.service;
 
+import by.frozzel.springreviewer.dto.NormalizedReviewsDto;
 import by.frozzel.springreviewer.dto.ReviewCreateDto;
 import by.frozzel.springreviewer.dto.ReviewDisplayDto;
 import by.frozzel.springreviewer.exception.BadRequestException;
@@ -9,12 +10,15 @@ import by.frozzel.springreviewer.model.Review;
 import by.frozzel.springreviewer.model.Subject;
 import by.frozzel.springreviewer.model.Teacher;
 import by.frozzel.springreviewer.model.User;
+import by.frozzel.springreviewer.repository.FieldSelection;
 import by.frozzel.springreviewer.repository.ReviewRepository;
+import by.frozzel.springreviewer.repository.SparseFieldsRepository;
 import by.frozzel.springreviewer.repository.SubjectRepository;
 import by.frozzel.springreviewer.repository.TeacherRepository;
 import by.frozzel.springreviewer.repository.UserRepository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +35,7 @@ public class ReviewService {
     private final TeacherRepository teacherRepository;
     private final SubjectRepository subjectRepository;
     private final UserRepository userRepository;
+    private final SparseFieldsRepository sparseFieldsRepository;
 
     private static final String USER_RESOURCE = "User";
     private static final String TEACHER_RESOURCE = "Teacher";
@@ -71,6 +76,16 @@ public class ReviewService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllReviews(FieldSelection fields) {
+        return sparseFieldsRepository.findAllReviews(fields);
+    }
+
+    @Transactional(readOnly = true)
+    public NormalizedReviewsDto getAllReviewsNormalized() {
+        return reviewMapper.toNormalizedDto(reviewRepository.findAll());
+    }
+
     @Transactional(readOnly = true)
     public ReviewDisplayDto getReviewById(Integer id) {
         return reviewRepository.findById(id)
@@ -126,22 +141,60 @@ public class ReviewService {
 
     @Transactional(readOnly = true)
     public List<ReviewDisplayDto> getReviewsByTeacherId(Integer teacherId) {
-        List<Review> reviews = reviewRepository.findByTeacherId(teacherId);
+        return findReviewsByTeacherId(teacherId).stream().map(reviewMapper::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getReviewsByTeacherId(Integer teacherId, FieldSelection fields) {
+        List<Map<String, Object>> reviews = sparseFieldsRepository.findReviewsByTeacherId(fields, teacherId);
         if (reviews.isEmpty()) {
             log.warn("No reviews found for teacher ID: {}", teacherId);
             throw new ResourceNotFoundException("No reviews found for teacher ID: " + teacherId);
         }
-        return reviews.stream().map(reviewMapper::toDto).toList();
+        return reviews;
+    }
+
+    @Transactional(readOnly = true)
+    public NormalizedReviewsDto getReviewsByTeacherIdNormalized(Integer teacherId) {
+        return reviewMapper.toNormalizedDto(findReviewsByTeacherId(teacherId));
     }
 
     @Transactional(readOnly = true)
     public List<ReviewDisplayDto> getReviewsByUserId(Integer userId) {
+        return findReviewsByUserId(userId).stream().map(reviewMapper::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getReviewsByUserId(Integer userId, FieldSelection fields) {
+        List<Map<String, Object>> reviews = sparseFieldsRepository.findReviewsByUserId(fields, userId);
+        if (reviews.isEmpty()) {
+            log.warn("No reviews found for user ID: {}", userId);
+            throw new ResourceNotFoundException("No reviews found for user ID: " + userId);
+        }
+        return reviews;
+    }
+
+    @Transactional(readOnly = true)
+    public NormalizedReviewsDto getReviewsByUserIdNormalized(Integer userId) {
+        return reviewMapper.toNormalizedDto(findReviewsByUserId(userId));
+    }
+
+    private List<Review> findReviewsByTeacherId(Integer teacherId) {
+        List<Review> reviews = reviewRepository.findByTeacherId(teacherId);
+        if (reviews.isEmpty()) {
+            log.warn("No reviews found for teacher ID: {}", teacherId);
+            throw new ResourceNotFoundException("No reviews found for teacher ID: " + teacherId);
+        }
+        return reviews;
+    }
+
+    private List<Review> findReviewsByUserId(Integer userId) {
         List<Review> reviews = reviewRepository.findByUserId(userId);
         if (reviews.isEmpty()) {
             log.warn("No reviews found for user ID: {}", userId);
             throw new ResourceNotFoundException("No reviews found for user ID: " + userId);
         }
-        return reviews.stream().map(reviewMapper::toDto).toList();
+        return reviews;
     }
 
     @Transactional(readOnly = true)
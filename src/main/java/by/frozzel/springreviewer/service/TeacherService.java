@@ -7,9 +7,12 @@ import by.frozzel.springreviewer.exception.ResourceNotFoundException;
 import by.frozzel.springreviewer.mapper.TeacherMapper;
 import by.frozzel.springreviewer.model.Subject;
 import by.frozzel.springreviewer.model.Teacher;
+import by.frozzel.springreviewer.repository.FieldSelection;
+import by.frozzel.springreviewer.repository.SparseFieldsRepository;
 import by.frozzel.springreviewer.repository.SubjectRepository;
 import by.frozzel.springreviewer.repository.TeacherRepository;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,7 @@ public class TeacherService {
     private final TeacherRepository teacherRepository;
     private final SubjectRepository subjectRepository;
     private final TeacherMapper teacherMapper;
+    private final SparseFieldsRepository sparseFieldsRepository;
 
     private static final String TEACHER_RESOURCE = "Teacher";
     private static final String SUBJECT_RESOURCE = "Subject";
@@ -37,6 +41,11 @@ public class TeacherService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllTeachers(FieldSelection fields) {
+        return sparseFieldsRepository.findAllTeachers(fields);
+    }
+
     @Transactional(readOnly = true)
     public TeacherDisplayDto getTeacherById(Integer id) {
         return teacherRepository.findById(id)
@@ -6,11 +6,18 @@ import by.frozzel.springreviewer.exception.ConflictException;
 import by.frozzel.springreviewer.exception.ResourceNotFoundException;
 import by.frozzel.springreviewer.mapper.UserMapper;
 import by.frozzel.springreviewer.model.User;
+import by.frozzel.springreviewer.repository.FieldSelection;
+import by.frozzel.springreviewer.repository.SparseFieldsRepository;
 import by.frozzel.springreviewer.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @Service
@@ -18,6 +25,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final SparseFieldsRepository sparseFieldsRepository;
+    private final ObjectMapper objectMapper;
 
     private static final String USER_RESOURCE = "User";
     private static final String ID_FIELD = "id";
@@ -40,6 +49,25 @@ public class UserService {
                 .toList();
     }
 
+    // Ответ пишется по мере чтения порций пользователей: с полем reviews он может содержать все отзывы
+    // базы, и собирать его целиком в памяти нельзя
+    public StreamingResponseBody streamAllUsers(FieldSelection fields) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                sparseFieldsRepository.forEachUser(fields, user -> {
+                    try {
+                        generator.writeObject(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+
     @Transactional(readOnly = true)
     public UserDisplayDto getUserById(Integer id) {
         return userRepository.findById(id)
@@ -1,28 +1,289 @@
 package by.frozzel.springreviewer.service;
 
+import by.frozzel.springreviewer.dto.RouteMetricsDto;
+import by.frozzel.springreviewer.dto.VisitRatesDto;
+import by.frozzel.springreviewer.metrics.LatencyHistogram;
+import by.frozzel.springreviewer.metrics.SlidingWindowCounter;
+import by.frozzel.springreviewer.model.RouteVisit;
+import by.frozzel.springreviewer.repository.RouteVisitCountRepository;
+import by.frozzel.springreviewer.repository.RouteVisitRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
+@Slf4j
 public class VisitCounterService {
 
-    private final ConcurrentHashMap<String, AtomicLong> visitCountsPerUrl = new ConcurrentHashMap<>();
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final int SERVER_ERROR_STATUS = 500;
+    // Окна скользящего среднего: 1, 5 и 15 минут
+    private static final Map<String, Integer> RATE_WINDOWS = createRateWindows();
 
-    public void incrementVisit(String urlPattern) {
-        if (urlPattern == null) {
+    // pattern -> HTTP-метод -> метрики: двухуровневая карта не требует создания ключа на каждый запрос
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, RouteMetrics>> routes =
+            new ConcurrentHashMap<>();
+    private final SlidingWindowCounter totalRates = new SlidingWindowCounter();
+
+    private final RouteVisitRepository routeVisitRepository;
+    // Изменяется только под synchronized методами сохранения
+    private boolean persistenceInitialized;
+
+    public VisitCounterService(RouteVisitRepository routeVisitRepository) {
+        this.routeVisitRepository = routeVisitRepository;
+    }
+
+    public void recordRequest(String httpMethod, String urlPattern, int status, long elapsedNanos) {
+        if (urlPattern == null || httpMethod == null) {
             return;
         }
-        visitCountsPerUrl.computeIfAbsent(urlPattern, k -> new AtomicLong(0)).incrementAndGet();
+        RouteMetrics metrics = getOrCreateRoute(httpMethod, urlPattern);
+        metrics.statusCounts[statusClassIndex(status)].increment();
+        metrics.latency.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+
+        long epochSecond = System.currentTimeMillis() / 1000;
+        boolean error = status >= SERVER_ERROR_STATUS;
+        metrics.rates.record(epochSecond, error);
+        totalRates.record(epochSecond, error);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadPersistedCounts() {
+        try {
+            long total = 0;
+            for (RouteVisit visit : routeVisitRepository.findAll()) {
+                int index = statusClassIndex(visit.getId().getStatusClass());
+                if (index < 0) {
+                    continue;
+                }
+                RouteMetrics metrics = getOrCreateRoute(visit.getId().getMethod(), visit.getId().getPattern());
+                metrics.statusCounts[index].add(visit.getVisitCount());
+                metrics.persistedCounts[index] += visit.getVisitCount();
+                metrics.seededCounts[index] += visit.getVisitCount();
+                total += visit.getVisitCount();
+            }
+            persistenceInitialized = true;
+            log.info("Seeded visit counters with {} persisted visits", total);
+        } catch (DataAccessException e) {
+            log.warn("Could not load persisted visit counters, will retry on next flush: {}", e.getMessage());
+        }
+    }
+
+    // Запросы только увеличивают счётчики в памяти; в базу периодически уходят накопленные приращения
+    @Scheduled(fixedDelayString = "${metrics.visits.flush-interval-ms:60000}",
+            initialDelayString = "${metrics.visits.flush-interval-ms:60000}")
+    public synchronized void flushVisitCounts() {
+        if (!persistenceInitialized) {
+            loadPersistedCounts();
+            if (!persistenceInitialized) {
+                return;
+            }
+        }
+        List<RouteVisitCountRepository.VisitCountDelta> deltas = new ArrayList<>();
+        List<Runnable> commits = new ArrayList<>();
+        routes.values().forEach(byMethod -> byMethod.values().forEach(metrics -> {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                long current = metrics.statusCounts[i].sum();
+                long delta = current - metrics.persistedCounts[i];
+                if (delta > 0) {
+                    deltas.add(new RouteVisitCountRepository.VisitCountDelta(metrics.method, metrics.pattern,
+                            STATUS_CLASSES[i], delta));
+                    int index = i;
+                    commits.add(() -> metrics.persistedCounts[index] = current);
+                }
+            }
+        }));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            routeVisitRepository.addVisitCounts(deltas);
+            commits.forEach(Runnable::run);
+            log.debug("Flushed {} visit counter deltas to route_visits", deltas.size());
+        } catch (DataAccessException e) {
+            // Приращения не потеряны: они будут записаны при следующей попытке
+            log.warn("Could not flush {} visit counter deltas: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flushOnShutdown() {
+        // При остановке не пытаемся подключиться заново, если база была недоступна
+        if (persistenceInitialized) {
+            flushVisitCounts();
+        }
     }
 
     public Map<String, Long> getAllVisitCounts() {
-        return visitCountsPerUrl.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().get()
-                ));
+        Map<String, Long> counts = new HashMap<>();
+        routes.forEach((pattern, byMethod) -> {
+            long total = 0;
+            for (RouteMetrics metrics : byMethod.values()) {
+                total += metrics.getCount();
+            }
+            counts.put(pattern, total);
+        });
+        return counts;
+    }
+
+    public List<RouteMetricsDto> getRouteMetrics() {
+        List<RouteMetricsDto> result = new ArrayList<>();
+        routes.values().forEach(byMethod -> byMethod.values().forEach(metrics -> result.add(toDto(metrics))));
+        result.sort(Comparator.comparing(RouteMetricsDto::getPattern).thenComparing(RouteMetricsDto::getMethod));
+        return result;
+    }
+
+    public VisitRatesDto getVisitRates() {
+        long now = System.currentTimeMillis() / 1000;
+        List<VisitRatesDto.RouteRates> routeRates = new ArrayList<>();
+        routes.values().forEach(byMethod -> byMethod.values().forEach(metrics -> {
+            Map<String, VisitRatesDto.Rate> rates = toRates(metrics.rates, now);
+            // Маршруты без запросов за самое длинное окно не показываем
+            boolean active = rates.values().stream().anyMatch(rate -> rate.getRequests() > 0);
+            if (active) {
+                routeRates.add(new VisitRatesDto.RouteRates(metrics.method, metrics.pattern, rates));
+            }
+        }));
+        routeRates.sort(Comparator.comparing(VisitRatesDto.RouteRates::getPattern)
+                .thenComparing(VisitRatesDto.RouteRates::getMethod));
+        return new VisitRatesDto(toRates(totalRates, now), routeRates);
+    }
+
+    // Обход живых счётчиков без копирования карт, для экспорта в Prometheus
+    public void forEachStatusCount(StatusCountVisitor visitor) {
+        routes.values().forEach(byMethod -> byMethod.values().forEach(metrics -> {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                long count = metrics.statusCounts[i].sum();
+                if (count > 0) {
+                    visitor.visit(metrics.method, metrics.pattern, STATUS_CLASSES[i], count);
+                }
+            }
+        }));
+    }
+
+    public void forEachRouteLatency(RouteLatencyVisitor visitor) {
+        routes.values().forEach(byMethod -> byMethod.values()
+                .forEach(metrics -> visitor.visit(metrics.method, metrics.pattern, metrics.latency)));
+    }
+
+    private static Map<String, VisitRatesDto.Rate> toRates(SlidingWindowCounter counter, long now) {
+        Map<String, VisitRatesDto.Rate> rates = new LinkedHashMap<>();
+        RATE_WINDOWS.forEach((name, seconds) -> {
+            SlidingWindowCounter.WindowCounts counts = counter.getCounts(now, seconds);
+            rates.put(name, new VisitRatesDto.Rate(counts.requests(), counts.requestsPerSecond(),
+                    counts.errorsPerSecond(), counts.errorRate()));
+        });
+        return rates;
+    }
+
+    private static Map<String, Integer> createRateWindows() {
+        Map<String, Integer> windows = new LinkedHashMap<>();
+        windows.put("1m", 60);
+        windows.put("5m", 300);
+        windows.put("15m", SlidingWindowCounter.MAX_WINDOW_SECONDS);
+        return windows;
+    }
+
+    private RouteMetrics getOrCreateRoute(String httpMethod, String urlPattern) {
+        return routes
+                .computeIfAbsent(urlPattern, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(httpMethod, method -> new RouteMetrics(method, urlPattern));
+    }
+
+    private static int statusClassIndex(String statusClass) {
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            if (STATUS_CLASSES[i].equals(statusClass)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int statusClassIndex(int status) {
+        return Math.min(Math.max(status / 100, 1), STATUS_CLASSES.length) - 1;
+    }
+
+    private static RouteMetricsDto toDto(RouteMetrics metrics) {
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        Map<String, Long> allTimeStatusCounts = new LinkedHashMap<>();
+        long count = 0;
+        long allTimeCount = 0;
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            long allTime = metrics.statusCounts[i].sum();
+            long sinceStart = allTime - metrics.seededCounts[i];
+            if (sinceStart > 0) {
+                statusCounts.put(STATUS_CLASSES[i], sinceStart);
+                count += sinceStart;
+            }
+            if (allTime > 0) {
+                allTimeStatusCounts.put(STATUS_CLASSES[i], allTime);
+                allTimeCount += allTime;
+            }
+        }
+        LatencyHistogram.Snapshot snapshot = metrics.latency.snapshot();
+        return new RouteMetricsDto(
+                metrics.method,
+                metrics.pattern,
+                count,
+                statusCounts,
+                allTimeCount,
+                allTimeStatusCounts,
+                snapshot.getMean() / MICROS_PER_MILLI,
+                snapshot.percentile(50) / MICROS_PER_MILLI,
+                snapshot.percentile(95) / MICROS_PER_MILLI,
+                snapshot.percentile(99) / MICROS_PER_MILLI,
+                snapshot.getMax() / MICROS_PER_MILLI);
+    }
+
+    private static final class RouteMetrics {
+        private final String method;
+        private final String pattern;
+        private final LongAdder[] statusCounts = new LongAdder[STATUS_CLASSES.length];
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final SlidingWindowCounter rates = new SlidingWindowCounter();
+        // Значения счётчиков, уже записанные в route_visits
+        private final long[] persistedCounts = new long[STATUS_CLASSES.length];
+        // Загруженные из route_visits при запуске: гистограмма задержек их не содержит
+        private final long[] seededCounts = new long[STATUS_CLASSES.length];
+
+        private RouteMetrics(String method, String pattern) {
+            this.method = method;
+            this.pattern = pattern;
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] = new LongAdder();
+            }
+        }
+
+        private long getCount() {
+            long total = 0;
+            for (LongAdder counter : statusCounts) {
+                total += counter.sum();
+            }
+            return total;
+        }
+    }
+
+    @FunctionalInterface
+    public interface StatusCountVisitor {
+        void visit(String method, String pattern, String statusClass, long count);
+    }
+
+    @FunctionalInterface
+    public interface RouteLatencyVisitor {
+        void visit(String method, String pattern, LatencyHistogram latency);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+-- Схема базы для ddl-auto=validate. Скрипт идемпотентен и выполняется при каждом запуске (spring.sql.init.mode),
+-- поэтому существующая база получает новые таблицы, индексы и изменения колонок без ручной миграции
+CREATE TABLE IF NOT EXISTS subjects (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS teachers (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255),
+    patronym varchar(255),
+    surname varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS teacher_subject (
+    teacher_id integer NOT NULL REFERENCES teachers (id),
+    subject_id integer NOT NULL REFERENCES subjects (id)
+);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id integer NOT NULL REFERENCES users (id),
+    teacher_id integer NOT NULL REFERENCES teachers (id),
+    subject_id integer NOT NULL REFERENCES subjects (id),
+    date date,
+    grade integer,
+    comment varchar(5000)
+);
+
+-- Базы, созданные до @Column(length = 5000), хранят comment как varchar(255); увеличение длины
+-- в PostgreSQL меняет только метаданные и не переписывает таблицу
+ALTER TABLE reviews ALTER COLUMN comment SET DATA TYPE varchar(5000);
+
+CREATE INDEX IF NOT EXISTS idx_reviews_user_id ON reviews (user_id);
+
+CREATE TABLE IF NOT EXISTS route_visits (
+    method varchar(16) NOT NULL,
+    pattern varchar(512) NOT NULL,
+    status_class varchar(3) NOT NULL,
+    visit_count bigint NOT NULL,
+    updated_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (method, pattern, status_class)
+);
@@ -0,0 +1,42 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import by.frozzel.springreviewer.service.JfrRecordingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:diagnostics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+@AutoConfigureMockMvc
+class DiagnosticsControllerDisabledTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void jfrEndpointsAreOffByDefault() throws Exception {
+        assertThat(context.getBeanNamesForType(JfrRecordingService.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(DiagnosticsController.class)).isEmpty();
+
+        mockMvc.perform(post("/diagnostics/jfr").param("duration", "1s"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,72 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import by.frozzel.springreviewer.dto.ReviewDisplayDto;
+import by.frozzel.springreviewer.dto.TeacherDisplayDto;
+import by.frozzel.springreviewer.dto.UserDisplayDto;
+import by.frozzel.springreviewer.exception.BadRequestException;
+import by.frozzel.springreviewer.repository.FieldSelection;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class FieldSelectionParserTest {
+
+    @Test
+    void emptySelectionContainsEveryDtoFieldInDeclarationOrder() {
+        FieldSelection all = FieldSelectionParser.parse(" , ", ReviewDisplayDto.class);
+
+        assertThat(all.fields()).containsExactly(Arrays.stream(ReviewDisplayDto.class.getDeclaredFields())
+                .map(Field::getName).toArray(String[]::new));
+        assertThat(all.nested("teacher").fields())
+                .containsExactly("id", "surname", "name", "patronym", "subjects");
+        assertThat(all.nested("grade")).isNull();
+    }
+
+    @Test
+    void keepsDtoOrderAndSelectsNestedFields() {
+        FieldSelection selection = FieldSelectionParser.parse("grade, teacher.surname,id,teacher.id",
+                ReviewDisplayDto.class);
+
+        assertThat(selection.fields()).containsExactly("id", "teacher", "grade");
+        assertThat(selection.nested("teacher").fields()).containsExactly("id", "surname");
+    }
+
+    @Test
+    void wholeNestedObjectWinsOverItsPaths() {
+        FieldSelection selection = FieldSelectionParser.parse("teacher.surname,teacher", ReviewDisplayDto.class);
+
+        assertThat(selection.nested("teacher").fields())
+                .containsExactly("id", "surname", "name", "patronym", "subjects");
+    }
+
+    @Test
+    void resolvesCollectionElementsAsNestedDtos() {
+        FieldSelection selection = FieldSelectionParser.parse("username,reviews.grade,reviews.teacher.subjects",
+                UserDisplayDto.class);
+
+        assertThat(selection.fields()).containsExactly("username", "reviews");
+        assertThat(selection.nested("reviews").fields()).containsExactly("teacher", "grade");
+        assertThat(selection.nested("reviews").nested("teacher").fields()).containsExactly("subjects");
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> FieldSelectionParser.parse("id,rating", TeacherDisplayDto.class))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("'rating'");
+        assertThatThrownBy(() -> FieldSelectionParser.parse("teacher.rating", ReviewDisplayDto.class))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("'rating'");
+    }
+
+    @Test
+    void rejectsNestedPathOnSimpleField() {
+        // subjects - список строк, а не вложенный DTO
+        assertThatThrownBy(() -> FieldSelectionParser.parse("subjects.name", TeacherDisplayDto.class))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("no nested fields");
+    }
+}
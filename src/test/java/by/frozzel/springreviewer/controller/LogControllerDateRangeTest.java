@@ -0,0 +1,80 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import by.frozzel.springreviewer.service.LogService;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:logs;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+@AutoConfigureMockMvc
+class LogControllerDateRangeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private LogService logService;
+
+    @Test
+    void rejectsDateCombinedWithRange() throws Exception {
+        // from/to, совпадающие с date, тоже конфликт: иначе другой диапазон молча игнорировался бы
+        String[][] queries = {
+                {"2025-04-22", "2025-04-01", "2025-04-10"},
+                {"2025-04-22", "2025-04-22", "2025-04-22"},
+                {"2025-04-22", "2025-04-01", null},
+                {"2025-04-22", null, "2025-04-30"}
+        };
+        for (String[] query : queries) {
+            var request = post("/logs/generate").param("date", query[0]);
+            if (query[1] != null) {
+                request.param("from", query[1]);
+            }
+            if (query[2] != null) {
+                request.param("to", query[2]);
+            }
+            mockMvc.perform(request)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(containsString("not both")));
+        }
+        verify(logService, never()).initiateLogGeneration(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void singleDateBecomesOneDayRange() throws Exception {
+        mockMvc.perform(post("/logs/generate").param("date", "2025-04-22"))
+                .andExpect(status().isAccepted());
+
+        LocalDate date = LocalDate.of(2025, 4, 22);
+        verify(logService).initiateLogGeneration(anyString(), eq(date), eq(date), any());
+    }
+
+    @Test
+    void rangeRequiresBothEnds() throws Exception {
+        mockMvc.perform(post("/logs/generate").param("from", "2025-04-22"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("both 'from' and 'to'")));
+    }
+}
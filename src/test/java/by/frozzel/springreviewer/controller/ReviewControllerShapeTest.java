@@ -0,0 +1,78 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shape;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+@AutoConfigureMockMvc
+class ReviewControllerShapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM teacher_subject");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM subjects");
+        jdbcTemplate.update("INSERT INTO subjects (id, name) VALUES (1, 'Math')");
+        jdbcTemplate.update("INSERT INTO teachers (id, surname, name, patronym) VALUES (1, 'Ivanov', 'Ivan', 'Ivanovich')");
+        jdbcTemplate.update("INSERT INTO teacher_subject (teacher_id, subject_id) VALUES (1, 1)");
+        for (int u = 1; u <= 3; u++) {
+            jdbcTemplate.update("INSERT INTO users (id, username) VALUES (?, ?)", u, "user" + u);
+            jdbcTemplate.update("INSERT INTO reviews (id, user_id, teacher_id, subject_id, date, grade) "
+                    + "VALUES (?, ?, 1, 1, DATE '2025-04-22', 5)", u, u);
+        }
+    }
+
+    @Test
+    void unknownShapeIsRejected() throws Exception {
+        for (String path : new String[]{"/reviews", "/reviews/teacher/1", "/reviews/user/1"}) {
+            mockMvc.perform(get(path).param("shape", "flat"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(containsString("Unknown shape 'flat'")));
+            mockMvc.perform(get(path).param("shape", "flat").param("fields", "id"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void normalizedShapeWritesSharedTeacherOnce() throws Exception {
+        mockMvc.perform(get("/reviews/teacher/1").param("shape", "normalized"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", hasSize(3)))
+                .andExpect(jsonPath("$.reviews[*].teacherId", everyItem(is(1))))
+                .andExpect(jsonPath("$.reviews[*].subjectId", everyItem(is(1))))
+                .andExpect(jsonPath("$.teachers.length()").value(1))
+                .andExpect(jsonPath("$.teachers['1'].surname").value("Ivanov"))
+                .andExpect(jsonPath("$.subjects['1'].name").value("Math"));
+    }
+}
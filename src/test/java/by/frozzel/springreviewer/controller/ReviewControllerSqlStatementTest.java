@@ -0,0 +1,98 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import by.frozzel.springreviewer.interceptor.SqlStatementCountAdvice;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+// Регрессия по числу SQL-запросов на эндпоинт: заголовок X-SQL-Statement-Count заполняет SqlStatementInterceptor
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reviews;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+@AutoConfigureMockMvc
+class ReviewControllerSqlStatementTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM teacher_subject");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM subjects");
+        for (int s = 1; s <= 3; s++) {
+            jdbcTemplate.update("INSERT INTO subjects (id, name) VALUES (?, ?)", s, "Subject " + s);
+        }
+        for (int t = 1; t <= 2; t++) {
+            jdbcTemplate.update("INSERT INTO teachers (id, surname, name, patronym) VALUES (?, ?, ?, ?)",
+                    t, "Surname" + t, "Name" + t, "Patronym" + t);
+            for (int s = 1; s <= 3; s++) {
+                jdbcTemplate.update("INSERT INTO teacher_subject (teacher_id, subject_id) VALUES (?, ?)", t, s);
+            }
+        }
+        for (int u = 1; u <= 12; u++) {
+            jdbcTemplate.update("INSERT INTO users (id, username) VALUES (?, ?)", u, "user" + u);
+        }
+        int id = 1;
+        for (int u = 1; u <= 3; u++) {
+            review(id++, u, 1, u);
+        }
+        for (int u = 1; u <= 12; u++) {
+            review(id++, u, 2, u % 3 + 1);
+        }
+    }
+
+    private void review(int id, int userId, int teacherId, int subjectId) {
+        jdbcTemplate.update("INSERT INTO reviews (id, user_id, teacher_id, subject_id, date, grade, comment) "
+                + "VALUES (?, ?, ?, ?, DATE '2025-04-22', ?, ?)", id, userId, teacherId, subjectId, id % 10 + 1,
+                "Comment " + id);
+    }
+
+    @Test
+    void reviewByIdStaysWithinStatementBudget() throws Exception {
+        mockMvc.perform(get("/reviews/1"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(lessThanOrEqualTo(4)));
+    }
+
+    @Test
+    void sparseFieldsUseSameNumberOfStatementsForAnyReviewCount() throws Exception {
+        // У первого преподавателя 3 отзыва, у второго 12: число запросов не должно зависеть от числа строк
+        String fields = "id,author,teacher.surname,teacher.subjects";
+        mockMvc.perform(get("/reviews/teacher/1").param("fields", fields))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(equalTo(2)));
+        mockMvc.perform(get("/reviews/teacher/2").param("fields", fields))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(equalTo(2)));
+    }
+
+    private static ResultMatcher statementCount(Matcher<Integer> matcher) {
+        return result -> assertThat(Integer.valueOf(
+                result.getResponse().getHeader(SqlStatementCountAdvice.SQL_STATEMENT_COUNT_HEADER)), matcher);
+    }
+}
@@ -0,0 +1,98 @@
+package by.frozzel.springreviewer.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import by.frozzel.springreviewer.dto.ReviewDisplayDto;
+import by.frozzel.springreviewer.dto.TeacherDisplayDto;
+import by.frozzel.springreviewer.dto.UserDisplayDto;
+import by.frozzel.springreviewer.repository.FieldSelection;
+import by.frozzel.springreviewer.repository.SparseFieldsRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Допустимые в ?fields= имена берутся из DTO, а SQL в SparseFieldsRepository написан вручную:
+// каждое поле DTO должно попадать в ответ, иначе оно прошло бы проверку и молча пропало
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coverage;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+class SparseFieldsCoverageTest {
+
+    @Autowired
+    private SparseFieldsRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM teacher_subject");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM subjects");
+        jdbcTemplate.update("INSERT INTO subjects (id, name) VALUES (1, 'Math')");
+        jdbcTemplate.update("INSERT INTO teachers (id, surname, name, patronym) VALUES (1, 'Ivanov', 'Ivan', 'Ivanovich')");
+        jdbcTemplate.update("INSERT INTO teacher_subject (teacher_id, subject_id) VALUES (1, 1)");
+        jdbcTemplate.update("INSERT INTO users (id, username) VALUES (1, 'user1')");
+        jdbcTemplate.update("INSERT INTO reviews (id, user_id, teacher_id, subject_id, date, grade, comment) "
+                + "VALUES (1, 1, 1, 1, DATE '2025-04-22', 5, 'Good')");
+    }
+
+    @Test
+    void reviewsContainEveryDtoField() {
+        FieldSelection fields = FieldSelectionParser.parse(null, ReviewDisplayDto.class);
+
+        assertCovers(fields, repository.findAllReviews(fields));
+        assertCovers(fields, repository.findReviewsByTeacherId(fields, 1));
+        assertCovers(fields, repository.findReviewsByUserId(fields, 1));
+    }
+
+    @Test
+    void teachersContainEveryDtoField() {
+        FieldSelection fields = FieldSelectionParser.parse(null, TeacherDisplayDto.class);
+
+        assertCovers(fields, repository.findAllTeachers(fields));
+    }
+
+    @Test
+    void usersContainEveryDtoField() {
+        FieldSelection fields = FieldSelectionParser.parse(null, UserDisplayDto.class);
+        List<Map<String, Object>> users = new ArrayList<>();
+        repository.forEachUser(fields, users::add);
+
+        assertCovers(fields, users);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertCovers(FieldSelection fields, List<Map<String, Object>> rows) {
+        assertThat(rows).isNotEmpty();
+        for (Map<String, Object> row : rows) {
+            assertThat(row.keySet()).containsExactlyElementsOf(fields.fields());
+            for (String field : fields.fields()) {
+                FieldSelection nested = fields.nested(field);
+                Object value = row.get(field);
+                if (nested == null) {
+                    continue;
+                }
+                if (value instanceof Map<?, ?> nestedRow) {
+                    assertCovers(nested, List.of((Map<String, Object>) nestedRow));
+                } else {
+                    assertCovers(nested, (List<Map<String, Object>>) value);
+                }
+            }
+        }
+    }
+}
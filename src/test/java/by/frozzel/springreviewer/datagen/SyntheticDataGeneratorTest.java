@@ -0,0 +1,25 @@
+package by.frozzel.springreviewer.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SyntheticDataGeneratorTest {
+
+    @ParameterizedTest
+    @CsvSource({"31, 3", "31, 31", "7, 7", "500, 3", "1, 1", "62, 5"})
+    void teacherSubjectsAreDistinctForEveryTeacher(int subjects, int perTeacher) {
+        for (long teacherId = 1; teacherId <= 1000; teacherId++) {
+            Set<Long> assigned = new HashSet<>();
+            for (int slot = 0; slot < perTeacher; slot++) {
+                long subject = SyntheticDataGenerator.teacherSubject(teacherId, slot, subjects);
+                assertThat(subject).isBetween(1L, (long) subjects);
+                assigned.add(subject);
+            }
+            assertThat(assigned).as("teacher %d", teacherId).hasSize(perTeacher);
+        }
+    }
+}
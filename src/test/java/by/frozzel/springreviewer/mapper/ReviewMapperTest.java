@@ -0,0 +1,97 @@
+package by.frozzel.springreviewer.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import by.frozzel.springreviewer.dto.NormalizedReviewDto;
+import by.frozzel.springreviewer.dto.NormalizedReviewsDto;
+import by.frozzel.springreviewer.model.Review;
+import by.frozzel.springreviewer.model.Subject;
+import by.frozzel.springreviewer.model.Teacher;
+import by.frozzel.springreviewer.model.User;
+import by.frozzel.springreviewer.repository.SubjectRepository;
+import by.frozzel.springreviewer.repository.TeacherRepository;
+import by.frozzel.springreviewer.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReviewMapperTest {
+
+    private final TeacherMapper teacherMapper = spy(new TeacherMapper());
+    private final ReviewMapper reviewMapper = new ReviewMapper(mock(UserRepository.class),
+            mock(TeacherRepository.class), mock(SubjectRepository.class), teacherMapper);
+
+    @Test
+    void sharedTeacherAndSubjectsAreWrittenOnce() {
+        Subject math = subject(1, "Math");
+        Subject physics = subject(2, "Physics");
+        Teacher teacher = new Teacher();
+        teacher.setId(7);
+        teacher.setSurname("Ivanov");
+        teacher.setSubjects(new ArrayList<>(List.of(math, physics)));
+
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setUsername("user" + i);
+            reviews.add(review(i, user, teacher, i % 2 == 0 ? math : physics));
+        }
+
+        NormalizedReviewsDto dto = reviewMapper.toNormalizedDto(reviews);
+
+        verify(teacherMapper, times(1)).toNormalizedDto(any());
+        assertThat(dto.getTeachers()).containsOnlyKeys(7);
+        assertThat(dto.getTeachers().get(7).getSubjectIds()).containsExactly(1, 2);
+        assertThat(dto.getSubjects()).containsOnlyKeys(1, 2);
+        assertThat(dto.getSubjects().get(1).getName()).isEqualTo("Math");
+        assertThat(dto.getReviews()).hasSize(4);
+        for (int i = 0; i < reviews.size(); i++) {
+            NormalizedReviewDto reviewDto = dto.getReviews().get(i);
+            assertThat(reviewDto.getId()).isEqualTo(reviews.get(i).getId());
+            assertThat(reviewDto.getAuthorId()).isEqualTo(i + 1);
+            assertThat(dto.getTeachers()).containsKey(reviewDto.getTeacherId());
+            assertThat(reviewDto.getSubjectId()).isEqualTo(reviews.get(i).getSubject().getId());
+            assertThat(dto.getSubjects()).containsKey(reviewDto.getSubjectId());
+        }
+    }
+
+    @Test
+    void reviewSubjectOutsideTeacherSubjectsIsStillListed() {
+        Teacher teacher = new Teacher();
+        teacher.setId(3);
+        teacher.setSubjects(new ArrayList<>(List.of(subject(1, "Math"))));
+        User user = new User();
+        user.setId(1);
+
+        NormalizedReviewsDto dto = reviewMapper.toNormalizedDto(
+                List.of(review(1, user, teacher, subject(5, "History"))));
+
+        assertThat(dto.getSubjects()).containsOnlyKeys(1, 5);
+        assertThat(dto.getReviews().get(0).getSubjectId()).isEqualTo(5);
+    }
+
+    private static Subject subject(int id, String name) {
+        Subject subject = new Subject();
+        subject.setId(id);
+        subject.setName(name);
+        return subject;
+    }
+
+    private static Review review(int id, User user, Teacher teacher, Subject subject) {
+        Review review = new Review();
+        review.setId(id);
+        review.setUser(user);
+        review.setTeacher(teacher);
+        review.setSubject(subject);
+        review.setDate(LocalDate.of(2025, 4, 22));
+        review.setGrade(id % 10 + 1);
+        return review;
+    }
+}
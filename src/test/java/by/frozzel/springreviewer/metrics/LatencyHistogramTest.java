@@ -0,0 +1,74 @@
+package by.frozzel.springreviewer.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void storesSmallValuesExactly() {
+        for (long value = 0; value < 32; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(index).isEqualTo((int) value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void bucketsCoverEveryValueWithBoundedError() {
+        int previousIndex = -1;
+        long previousUpperBound = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            // Верхняя граница корзины завышает значение не больше чем на 1/16
+            assertThat(upperBound - value).isLessThanOrEqualTo(value / 16);
+            if (index != previousIndex) {
+                // Корзины идут подряд и стыкуются без пропусков
+                assertThat(index).isEqualTo(previousIndex + 1);
+                assertThat(value).isEqualTo(previousUpperBound + 1);
+                previousIndex = index;
+                previousUpperBound = upperBound;
+            }
+        }
+    }
+
+    @Test
+    void handlesLargestValues() {
+        int index = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        assertThat(index).isLessThan(64 * 16);
+        assertThat(LatencyHistogram.bucketUpperBound(index)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void computesPercentilesAndClampsToMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getMean()).isCloseTo(500.5, within(1e-9));
+        assertThat(snapshot.percentile(50)).isBetween(500L, 500L + 500 / 16);
+        assertThat(snapshot.percentile(99)).isBetween(990L, 990L + 990 / 16);
+        assertThat(snapshot.percentile(100)).isEqualTo(1000);
+
+        long[] result = new long[3];
+        histogram.percentiles(new double[]{50, 99, 100}, result);
+        assertThat(result).containsExactly(snapshot.percentile(50), snapshot.percentile(99), 1000L);
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] result = new long[2];
+        histogram.percentiles(new double[]{50, 99}, result);
+
+        assertThat(histogram.snapshot().percentile(99)).isZero();
+        assertThat(result).containsExactly(0L, 0L);
+    }
+}
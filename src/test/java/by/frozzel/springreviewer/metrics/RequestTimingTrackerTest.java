@@ -0,0 +1,43 @@
+package by.frozzel.springreviewer.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTrackerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimingTracker.end();
+        SqlStatementTracker.end();
+    }
+
+    @Test
+    void mapperTimeExcludesJdbcTimeOfLazyLoading() {
+        SqlStatementTracker.begin();
+        SqlStatementTracker.record("SELECT 1", 1_000_000);
+        RequestTimingTracker.RequestTimings timings = RequestTimingTracker.begin();
+
+        boolean outer = timings.enterMapper();
+        boolean inner = timings.enterMapper();
+        // Ленивая загрузка во вложенном маппере
+        SqlStatementTracker.record("SELECT 2", 3_000_000);
+        timings.exitMapper(inner, 4_000_000);
+        timings.exitMapper(outer, 10_000_000);
+
+        assertThat(outer).isTrue();
+        assertThat(inner).isFalse();
+        assertThat(timings.getMapperNanos()).isEqualTo(7_000_000);
+        assertThat(SqlStatementTracker.current().getJdbcNanos()).isEqualTo(4_000_000);
+    }
+
+    @Test
+    void mapperTimeIsUnchangedWithoutSqlTracking() {
+        RequestTimingTracker.RequestTimings timings = RequestTimingTracker.begin();
+
+        timings.exitMapper(timings.enterMapper(), 5_000_000);
+
+        assertThat(timings.getMapperNanos()).isEqualTo(5_000_000);
+    }
+}
@@ -0,0 +1,93 @@
+package by.frozzel.springreviewer.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_760_000_000L;
+
+    @Test
+    void countsOnlyCompletedSecondsInsideWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        counter.record(NOW - 61, false);
+        counter.record(NOW - 60, false);
+        counter.record(NOW - 1, true);
+        // Текущая секунда ещё не завершена и в окно не входит
+        counter.record(NOW, false);
+
+        SlidingWindowCounter.WindowCounts counts = counter.getCounts(NOW, 60);
+
+        assertThat(counts.requests()).isEqualTo(2);
+        assertThat(counts.errors()).isEqualTo(1);
+        assertThat(counts.requestsPerSecond()).isEqualTo(2 / 60.0);
+        assertThat(counts.errorRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void reusedBucketStartsFromZero() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        int ringSize = SlidingWindowCounter.MAX_WINDOW_SECONDS + 60;
+        for (int i = 0; i < 5; i++) {
+            counter.record(NOW - ringSize, true);
+        }
+        counter.record(NOW, false);
+
+        SlidingWindowCounter.WindowCounts counts = counter.getCounts(NOW + 1, 1);
+
+        assertThat(counts.requests()).isEqualTo(1);
+        assertThat(counts.errors()).isZero();
+    }
+
+    @Test
+    void lateEventDoesNotOverwriteNewerSecond() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        int ringSize = SlidingWindowCounter.MAX_WINDOW_SECONDS + 60;
+        counter.record(NOW, false);
+        counter.record(NOW - ringSize, false);
+
+        assertThat(counter.getCounts(NOW + 1, 1).requests()).isEqualTo(1);
+    }
+
+    @Test
+    void windowIsCappedAtMaximum() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+
+        assertThat(counter.getCounts(NOW, 3600).windowSeconds()).isEqualTo(SlidingWindowCounter.MAX_WINDOW_SECONDS);
+        assertThat(counter.getCounts(NOW, 60).errorRate()).isZero();
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        int threads = 4;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    counter.record(NOW - 1 - i % 2, i % 10 == 0);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        SlidingWindowCounter.WindowCounts counts = counter.getCounts(NOW, 60);
+        assertThat(counts.requests()).isEqualTo((long) threads * perThread);
+        assertThat(counts.errors()).isEqualTo((long) threads * perThread / 10);
+    }
+}
@@ -0,0 +1,102 @@
+package by.frozzel.springreviewer.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementTrackerTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        dataSource = (DataSource) new InstrumentedDataSourcePostProcessor()
+                .postProcessAfterInitialization(target, "dataSource");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementTracker.end();
+    }
+
+    @Test
+    void countsStatementsAndDetectsRepeatedShapes() throws SQLException {
+        SqlStatementTracker.begin();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select * from reviews").executeQuery();
+            // Типичный N+1: по одному запросу на каждую строку списка
+            for (int i = 0; i < 5; i++) {
+                connection.prepareStatement("select * from users where id = ?").executeQuery();
+            }
+        }
+        SqlStatementTracker.SqlStats stats = SqlStatementTracker.end();
+
+        // Бюджет запросов проверяется так же, как регрессия в тесте эндпоинта
+        assertThat(stats.getStatementCount()).isEqualTo(6);
+        assertThat(stats.getRepeatedShapes(5))
+                .containsOnlyKeys("select * from users where id = ?")
+                .containsValue(5);
+    }
+
+    @Test
+    void normalizesLiteralsInPlainStatements() throws SQLException {
+        SqlStatementTracker.begin();
+        try (Connection connection = dataSource.getConnection()) {
+            Statement statement = connection.createStatement();
+            statement.execute("select * from teachers where id = 1");
+            statement.execute("select *  from teachers\n where id = 42");
+            statement.execute("select * from teachers where name = 'O''Brien'");
+        }
+        SqlStatementTracker.SqlStats stats = SqlStatementTracker.end();
+
+        assertThat(stats.getStatementShapes())
+                .containsEntry("select * from teachers where id = ?", 2)
+                .containsEntry("select * from teachers where name = ?", 1);
+    }
+
+    @Test
+    void ignoresStatementsOutsideRequest() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select 1").execute();
+        }
+
+        assertThat(SqlStatementTracker.current()).isNull();
+    }
+
+    @Test
+    void returnsDriverConnectionOutsideRequest() throws SQLException {
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+
+        SqlStatementTracker.begin();
+        assertThat(dataSource.getConnection()).isNotSameAs(connection);
+    }
+
+    @Test
+    void closesPoolOnShutdown() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        Object instrumented = new InstrumentedDataSourcePostProcessor().postProcessAfterInitialization(pool, "pool");
+
+        // Spring выводит destroy-метод close только у AutoCloseable-бинов
+        assertThat(instrumented).isInstanceOf(AutoCloseable.class);
+        ((AutoCloseable) instrumented).close();
+        verify(pool).close();
+    }
+}
@@ -0,0 +1,82 @@
+package by.frozzel.springreviewer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+// Проверяет текст SQL: невыбранные поля не добавляют ни колонок, ни JOIN
+class SparseFieldsRepositorySqlTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private final SparseFieldsRepository repository = new SparseFieldsRepository(new JdbcTemplate() {
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            statements.add(sql);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            statements.add(sql);
+        }
+    });
+
+    @Test
+    void scalarReviewFieldsSkipAllJoins() {
+        repository.findAllReviews(select("id", "grade"));
+
+        assertThat(statements).singleElement().satisfies(sql -> {
+            assertThat(sql).doesNotContain("JOIN").doesNotContain("comment").contains("r.grade");
+        });
+    }
+
+    @Test
+    void joinsOnlyTablesOfSelectedFields() {
+        repository.findReviewsByTeacherId(select("author", "subjectId"), 1);
+
+        assertThat(statements).singleElement().satisfies(sql -> assertThat(sql)
+                .contains("JOIN users u").doesNotContain("JOIN subjects").doesNotContain("JOIN teachers")
+                .endsWith("WHERE r.teacher_id = ?"));
+    }
+
+    @Test
+    void teacherIdAloneDoesNotJoinTeachers() {
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        fields.put("teacher", select("id"));
+        repository.findAllReviews(new FieldSelection(fields));
+
+        assertThat(statements).singleElement().satisfies(sql -> assertThat(sql).doesNotContain("JOIN"));
+    }
+
+    @Test
+    void teacherSubjectsAreReadOnlyWhenSelected() {
+        repository.findAllTeachers(select("id", "surname"));
+        repository.findAllTeachers(select("subjects"));
+
+        assertThat(statements).containsExactly(
+                "SELECT t.id, t.surname FROM teachers t",
+                "SELECT t.id FROM teachers t",
+                "SELECT ts.teacher_id, s.name FROM teacher_subject ts JOIN subjects s ON s.id = ts.subject_id");
+    }
+
+    @Test
+    void usersWithoutReviewsDoNotQueryReviews() {
+        repository.forEachUser(select("id", "username"), user -> { });
+
+        assertThat(statements).singleElement().satisfies(sql -> assertThat(sql)
+                .startsWith("SELECT u.id, u.username FROM users u WHERE u.id > ?").doesNotContain("reviews"));
+    }
+
+    private static FieldSelection select(String... names) {
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        for (String name : names) {
+            fields.put(name, null);
+        }
+        return new FieldSelection(fields);
+    }
+}
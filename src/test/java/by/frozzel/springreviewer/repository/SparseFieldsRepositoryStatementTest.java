@@ -0,0 +1,132 @@
+package by.frozzel.springreviewer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import by.frozzel.springreviewer.metrics.SqlStatementTracker;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Число SQL-запросов ?fields= не зависит от числа строк: предметы и отзывы дочитываются одним запросом,
+// а пользователи с отзывами - одним запросом отзывов на порцию
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sparse;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.file.name=target/test-logs/application.log",
+        "generated.logs.dir=target/test-logs/generated",
+        "logs.stats.cache-dir=target/test-logs/stats-cache"
+})
+class SparseFieldsRepositoryStatementTest {
+
+    private static final int USERS = SparseFieldsRepository.USERS_PER_BATCH * 2 + 1;
+    private static final int REVIEWS_PER_USER = 2;
+
+    @Autowired
+    private SparseFieldsRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM reviews");
+        jdbcTemplate.update("DELETE FROM teacher_subject");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM teachers");
+        jdbcTemplate.update("DELETE FROM subjects");
+        for (int s = 1; s <= 3; s++) {
+            jdbcTemplate.update("INSERT INTO subjects (id, name) VALUES (?, ?)", s, "Subject " + s);
+        }
+        for (int t = 1; t <= 2; t++) {
+            jdbcTemplate.update("INSERT INTO teachers (id, surname, name, patronym) VALUES (?, ?, ?, ?)",
+                    t, "Surname" + t, "Name" + t, "Patronym" + t);
+            jdbcTemplate.update("INSERT INTO teacher_subject (teacher_id, subject_id) VALUES (?, ?)", t, t);
+        }
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> reviews = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "user" + u});
+            for (int r = 0; r < REVIEWS_PER_USER; r++) {
+                int id = (u - 1) * REVIEWS_PER_USER + r + 1;
+                reviews.add(new Object[]{id, u, r + 1, r + 1, id % 10 + 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username) VALUES (?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO reviews (id, user_id, teacher_id, subject_id, date, grade) "
+                + "VALUES (?, ?, ?, ?, DATE '2025-04-22', ?)", reviews);
+    }
+
+    @Test
+    void reviewsWithAuthorUseSingleStatement() {
+        List<Map<String, Object>> reviews = countStatements(1,
+                () -> repository.findAllReviews(select("id", "author")));
+
+        assertThat(reviews).hasSize(USERS * REVIEWS_PER_USER);
+        assertThat(reviews.get(0)).containsOnlyKeys("id", "author");
+    }
+
+    @Test
+    void teacherSubjectsAreLoadedByOneExtraStatement() {
+        FieldSelection teacher = select("id", "subjects");
+        List<Map<String, Object>> reviews = countStatements(2,
+                () -> repository.findReviewsByTeacherId(withNested("teacher", teacher, "id"), 2));
+
+        assertThat(reviews).hasSize(USERS);
+        assertThat(reviews.get(0).get("teacher")).isEqualTo(Map.of("id", 2, "subjects", List.of("Subject 2")));
+    }
+
+    @Test
+    void usersWithReviewsUseTwoStatementsPerBatch() {
+        FieldSelection reviewFields = select("grade");
+        List<Map<String, Object>> users = new ArrayList<>();
+        int batches = (USERS + SparseFieldsRepository.USERS_PER_BATCH - 1) / SparseFieldsRepository.USERS_PER_BATCH;
+
+        countStatements(batches * 2, () -> {
+            repository.forEachUser(withNested("reviews", reviewFields, "id"), users::add);
+            return users;
+        });
+
+        assertThat(users).hasSize(USERS);
+        for (int i = 0; i < USERS; i++) {
+            Map<String, Object> user = users.get(i);
+            assertThat(user.get("id")).isEqualTo(i + 1);
+            assertThat((List<?>) user.get("reviews")).hasSize(REVIEWS_PER_USER);
+        }
+    }
+
+    private static FieldSelection select(String... names) {
+        return withNested(null, null, names);
+    }
+
+    private static FieldSelection withNested(String nestedName, FieldSelection nested, String... names) {
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        for (String name : names) {
+            fields.put(name, null);
+        }
+        if (nestedName != null) {
+            fields.put(nestedName, nested);
+        }
+        return new FieldSelection(fields);
+    }
+
+    private static <T> T countStatements(int expected, Supplier<T> action) {
+        SqlStatementTracker.begin();
+        try {
+            T result = action.get();
+            assertThat(SqlStatementTracker.current().getStatementCount()).isEqualTo(expected);
+            return result;
+        } finally {
+            SqlStatementTracker.end();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class DeadlineCharSequenceTest {
+
+    @Test
+    void matchesLikePlainStringBeforeDeadline() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        DeadlineCharSequence text = new DeadlineCharSequence("request id=4f2a done", deadline);
+
+        assertThat(Pattern.compile("id=(\\w+)").matcher(text).find()).isTrue();
+        assertThat(text.subSequence(8, 15)).hasToString("id=4f2a");
+    }
+
+    @Test
+    void interruptsCatastrophicBacktracking() {
+        // Без ограничения этот шаблон на 30 символах выполняется десятки секунд
+        Pattern pattern = Pattern.compile("(.*a){12}b");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> pattern.matcher(new DeadlineCharSequence("a".repeat(30), deadline)).find())
+                .isInstanceOf(DeadlineCharSequence.DeadlineExceededException.class);
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+    }
+}
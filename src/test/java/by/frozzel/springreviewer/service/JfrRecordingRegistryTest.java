@@ -0,0 +1,57 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
+import by.frozzel.springreviewer.model.JfrRecordingTask;
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class JfrRecordingRegistryTest {
+
+    private final JfrRecordingRegistry registry = new JfrRecordingRegistry(60, 1, 60);
+
+    @Test
+    void cancellingRunningRecordingKeepsSlotUntilItStops() {
+        JfrRecordingTask task = registry.createTask("default", Duration.ofMinutes(1));
+        // Уже выполняющаяся задача: Future.cancel(false) вернул бы true, но запись продолжается
+        task.setExecution(new CompletableFuture<>());
+        registry.markRunning(task.getId());
+
+        registry.cancelTask(task.getId());
+
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.RUNNING);
+        assertThat(task.isCancelRequested()).isTrue();
+        assertThatThrownBy(() -> registry.createTask("default", Duration.ofMinutes(1)))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        registry.setCancelledResult(task.getId());
+
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.CANCELLED);
+        assertThat(registry.createTask("default", Duration.ofMinutes(1)).getStatus()).isEqualTo(TaskStatus.PENDING);
+    }
+
+    @Test
+    void pendingRecordingIsCancelledAndCannotStart() {
+        JfrRecordingTask task = registry.createTask("default", Duration.ofMinutes(1));
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        task.setExecution(execution);
+
+        registry.cancelTask(task.getId());
+
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.CANCELLED);
+        assertThat(task.getFinishedAt()).isNotNull();
+        assertThat(execution.isCancelled()).isTrue();
+        assertThatThrownBy(() -> registry.markRunning(task.getId()))
+                .isInstanceOf(CancellationException.class);
+        // Повторная отметка отмены из рабочего потока не меняет время завершения
+        Instant finishedAt = task.getFinishedAt();
+        registry.setCancelledResult(task.getId());
+        assertThat(task.getFinishedAt()).isSameAs(finishedAt);
+    }
+}
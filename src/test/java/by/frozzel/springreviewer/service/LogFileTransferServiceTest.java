@@ -0,0 +1,141 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class LogFileTransferServiceTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path tempDir;
+
+    private final LogFileTransferService service = new LogFileTransferService();
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(tempDir.resolve("application-2025-04-22.log"), CONTENT);
+    }
+
+    @Test
+    void servesSingleByteRange() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = serve(file, HttpHeaders.RANGE, "bytes=2-5");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/20");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(4);
+        assertThat(body(response)).isEqualTo("2345");
+    }
+
+    @Test
+    void servesSuffixAndOpenEndedRanges() throws IOException {
+        ResponseEntity<StreamingResponseBody> suffix = serve(file, HttpHeaders.RANGE, "bytes=-3");
+        ResponseEntity<StreamingResponseBody> openEnded = serve(file, HttpHeaders.RANGE, "bytes=15-");
+
+        assertThat(suffix.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 17-19/20");
+        assertThat(body(suffix)).isEqualTo("hij");
+        assertThat(openEnded.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 15-19/20");
+        assertThat(body(openEnded)).isEqualTo("fghij");
+    }
+
+    @Test
+    void rejectsRangeBeyondEndOfFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = serve(file, HttpHeaders.RANGE, "bytes=20-30");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void ignoresMalformedAndMultipleRanges() throws IOException {
+        assertThat(serve(file, HttpHeaders.RANGE, "bytes=x-y").getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<StreamingResponseBody> multiple = serve(file, HttpHeaders.RANGE, "bytes=0-1,4-5");
+        assertThat(multiple.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(multiple)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        ResponseEntity<StreamingResponseBody> response = service.buildFileResponse(file, true, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(CONTENT.length());
+    }
+
+    @Test
+    void honoursIfRangeWithCurrentEtag() throws IOException {
+        String etag = serve(file, null, null).getHeaders().getETag();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        request.addHeader(HttpHeaders.IF_RANGE, etag);
+
+        ResponseEntity<StreamingResponseBody> response = service.buildFileResponse(file, true, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(body(response)).isEqualTo("0");
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws IOException {
+        String etag = serve(file, null, null).getHeaders().getETag();
+
+        ResponseEntity<StreamingResponseBody> response = serve(file, HttpHeaders.IF_NONE_MATCH, "W/" + etag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void decompressesGzipForClientsWithoutGzipSupport() throws IOException {
+        Path compressed = tempDir.resolve("application-2025-04-21.log.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResponseEntity<StreamingResponseBody> plain = serve(compressed, HttpHeaders.RANGE, "bytes=0-3");
+        ResponseEntity<StreamingResponseBody> gzip = serve(compressed, HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+
+        // Диапазоны распакованного потока не поддерживаются: отдаётся весь файл
+        assertThat(plain.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("none");
+        assertThat(body(plain)).isEqualTo(CONTENT);
+        assertThat(plain.getHeaders().getContentDisposition().getFilename()).isEqualTo("application-2025-04-21.log");
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getContentLength()).isEqualTo(Files.size(compressed));
+    }
+
+    private ResponseEntity<StreamingResponseBody> serve(Path target, String header, String value) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return service.buildFileResponse(target, true, request);
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
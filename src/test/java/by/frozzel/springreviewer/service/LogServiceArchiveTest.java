@@ -0,0 +1,70 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import by.frozzel.springreviewer.exception.ServiceUnavailableException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogServiceArchiveTest {
+
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+    private static final LocalDate TWO_DAYS_AGO = LocalDate.now().minusDays(2);
+
+    @TempDir
+    Path tempDir;
+
+    private LogService logService;
+    private Path logsDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logsDir = tempDir.resolve("logs");
+        Files.createDirectories(logsDir.resolve("archived"));
+        Files.writeString(logsDir.resolve("application.log"), "");
+        LogGenerationTaskRegistry registry = new LogGenerationTaskRegistry(60, 10, 30,
+                tempDir.resolve("generated").toString());
+        logService = new LogService(logsDir.resolve("application.log").toString(),
+                tempDir.resolve("generated").toString(), registry, Runnable::run);
+    }
+
+    @Test
+    void newestArchiveIsUnavailableWhileLogbackCompressesIt() throws IOException {
+        Path older = archive(TWO_DAYS_AGO, Instant.now().minus(1, ChronoUnit.DAYS));
+        Path newest = archive(YESTERDAY, Instant.now());
+        // Активный файл, переименованный Logback перед сжатием
+        Path inFlight = Files.writeString(logsDir.resolve("application.log" + System.nanoTime() + ".tmp"), "raw");
+
+        assertThatThrownBy(() -> logService.getLogFilePathForDate(YESTERDAY))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("still being compressed");
+        assertThat(logService.getLogFilePathForDate(TWO_DAYS_AGO)).isEqualTo(older);
+
+        Files.delete(inFlight);
+
+        assertThat(logService.getLogFilePathForDate(YESTERDAY)).isEqualTo(newest);
+    }
+
+    @Test
+    void plainArchiveIsPreferredOverCompressedOne() throws IOException {
+        archive(YESTERDAY, Instant.now());
+        Path plain = Files.writeString(logsDir.resolve("archived/application-" + YESTERDAY + ".log"), "");
+
+        assertThat(logService.getLogFilePathForDate(YESTERDAY)).isEqualTo(plain);
+    }
+
+    private Path archive(LocalDate date, Instant modified) throws IOException {
+        Path archive = Files.write(logsDir.resolve("archived/application-" + date + ".log.gz"), new byte[0]);
+        Files.setLastModifiedTime(archive, FileTime.from(modified));
+        return archive;
+    }
+}
@@ -0,0 +1,114 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import by.frozzel.springreviewer.model.LogGenerationTask;
+import by.frozzel.springreviewer.model.enums.TaskStatus;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogServiceMergeTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.now().minusDays(2);
+    private static final LocalDate SECOND_DAY = LocalDate.now().minusDays(1);
+
+    @TempDir
+    Path tempDir;
+
+    private LogGenerationTaskRegistry registry;
+    private LogService logService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path generatedDir = tempDir.resolve("generated");
+        Files.createDirectories(tempDir.resolve("logs/archived"));
+        Files.writeString(tempDir.resolve("logs/application.log"), "");
+        registry = new LogGenerationTaskRegistry(60, 10, 30, generatedDir.toString());
+        // Части извлекаются в вызывающем потоке: порядок слияния от этого не зависит
+        logService = new LogService(tempDir.resolve("logs/application.log").toString(), generatedDir.toString(),
+                registry, Runnable::run);
+    }
+
+    @Test
+    void mergesOverlappingDaysByTimestampKeepingMultilineRecords() throws IOException {
+        writeArchive(FIRST_DAY, false,
+                "2025-04-22 10:00:00.000 [main] INFO  a.First - zero",
+                "2025-04-22 10:00:02.000 [main] ERROR a.First - two",
+                "java.lang.IllegalStateException: boom",
+                "\tat a.First.run(First.java:1)",
+                "2025-04-22 10:00:04.000 [main] INFO  a.First - four");
+        writeArchive(SECOND_DAY, true,
+                "2025-04-22 10:00:01.000 [main] INFO  b.Second - one",
+                "2025-04-22 10:00:03.000 [main] INFO  b.Second - three");
+
+        assertThat(generate()).containsExactly(
+                "2025-04-22 10:00:00.000 [main] INFO  a.First - zero",
+                "2025-04-22 10:00:01.000 [main] INFO  b.Second - one",
+                "2025-04-22 10:00:02.000 [main] ERROR a.First - two",
+                "java.lang.IllegalStateException: boom",
+                "\tat a.First.run(First.java:1)",
+                "2025-04-22 10:00:03.000 [main] INFO  b.Second - three",
+                "2025-04-22 10:00:04.000 [main] INFO  a.First - four");
+    }
+
+    @Test
+    void keepsEqualTimestampsInSourceOrder() throws IOException {
+        writeArchive(FIRST_DAY, false,
+                "2025-04-22 10:00:01.000 [main] INFO  a.First - first day",
+                "2025-04-22 10:00:05.000 [main] INFO  a.First - later");
+        writeArchive(SECOND_DAY, false,
+                "2025-04-22 10:00:01.000 [main] INFO  b.Second - second day");
+
+        assertThat(generate()).containsExactly(
+                "2025-04-22 10:00:01.000 [main] INFO  a.First - first day",
+                "2025-04-22 10:00:01.000 [main] INFO  b.Second - second day",
+                "2025-04-22 10:00:05.000 [main] INFO  a.First - later");
+    }
+
+    @Test
+    void concatenatesDaysThatDoNotOverlap() throws IOException {
+        writeArchive(FIRST_DAY, true,
+                "2025-04-21 23:59:59.000 [main] INFO  a.First - end of day");
+        writeArchive(SECOND_DAY, false,
+                "2025-04-22 00:00:00.000 [main] INFO  b.Second - start of day",
+                "continuation line");
+
+        assertThat(generate()).containsExactly(
+                "2025-04-21 23:59:59.000 [main] INFO  a.First - end of day",
+                "2025-04-22 00:00:00.000 [main] INFO  b.Second - start of day",
+                "continuation line");
+    }
+
+    private List<String> generate() throws IOException {
+        LogGenerationTask task = registry.createTask();
+        logService.generateLogFileAsync(task.getId(), FIRST_DAY, SECOND_DAY, LogFilter.NONE);
+
+        assertThat(task.getStatus()).as(task.getErrorMessage()).isEqualTo(TaskStatus.COMPLETED);
+        try (InputStream in = LogService.openDecompressed(task.getResultPath())) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private void writeArchive(LocalDate day, boolean compressed, String... lines) throws IOException {
+        Path plain = tempDir.resolve("logs/archived/application-" + day + ".log");
+        byte[] content = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (!compressed) {
+            Files.write(plain, content);
+            return;
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(
+                plain.resolveSibling(plain.getFileName() + LogService.GZIP_EXTENSION)))) {
+            out.write(content);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package by.frozzel.springreviewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class LogStatsAggregateTest {
+
+    @Test
+    void cacheFormatRoundTrips() throws IOException {
+        LogStatsAggregate aggregate = new LogStatsAggregate();
+        aggregate.accept("2025-04-22 10:15:01.123 [main] INFO  b.f.s.service.ReviewService - Loaded reviews");
+        aggregate.accept("2025-04-22 10:15:30.001 [http-nio-1] ERROR b.f.s.controller.ReviewController - Failed");
+        aggregate.accept("java.lang.IllegalStateException: boom");
+        aggregate.accept("\tat by.frozzel.springreviewer.service.ReviewService.get(ReviewService.java:42)");
+        aggregate.accept("Caused by: java.io.UncheckedIOException: disk");
+        aggregate.accept("2025-04-22 10:16:00.000 [main] INFO  b.f.s.service.ReviewService - Имя с юникодом");
+
+        LogStatsAggregate restored = LogStatsAggregate.readFrom(new DataInputStream(
+                new ByteArrayInputStream(serialize(aggregate))));
+
+        assertThat(restored.getTotalRecords()).isEqualTo(3);
+        assertThat(restored.getByLevel()).isEqualTo(aggregate.getByLevel()).containsEntry("INFO", 2L);
+        assertThat(restored.getByLogger()).isEqualTo(aggregate.getByLogger());
+        assertThat(restored.getPerMinute()).containsOnlyKeys("2025-04-22 10:15", "2025-04-22 10:16")
+                .containsEntry("2025-04-22 10:15", 2L);
+        assertThat(restored.getExceptions()).containsOnlyKeys("java.lang.IllegalStateException",
+                "java.io.UncheckedIOException");
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws IOException {
+        byte[] bytes = serialize(new LogStatsAggregate());
+        // Вторые четыре байта - версия формата
+        bytes[7]++;
+
+        assertThatThrownBy(() -> LogStatsAggregate.readFrom(new DataInputStream(new ByteArrayInputStream(bytes))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported");
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        LogStatsAggregate aggregate = new LogStatsAggregate();
+        aggregate.accept("2025-04-22 10:15:01.123 [main] INFO  b.f.s.service.ReviewService - Loaded reviews");
+        byte[] bytes = serialize(aggregate);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThatThrownBy(() -> LogStatsAggregate.readFrom(new DataInputStream(new ByteArrayInputStream(truncated))))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] serialize(LogStatsAggregate aggregate) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            aggregate.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+}